@@ -1,3 +1,18 @@
+// Кодировщик brotli для задачи compressStaticAssets: версия зафиксирована, утилита в PATH не нужна.
+// Нативные библиотеки подключены для всех платформ, на которых собирается проект
+buildscript {
+	repositories {
+		mavenCentral()
+	}
+	dependencies {
+		val brotli4j = "1.16.0"
+		classpath("com.aayushatharva.brotli4j:brotli4j:$brotli4j")
+		listOf("linux-x86_64", "linux-aarch64", "osx-x86_64", "osx-aarch64", "windows-x86_64").forEach {
+			classpath("com.aayushatharva.brotli4j:native-$it:$brotli4j")
+		}
+	}
+}
+
 plugins {
 	application
 	id("org.springframework.boot") version "3.5.10"
@@ -6,6 +21,7 @@ plugins {
 	checkstyle
 	id("org.sonarqube") version "6.2.0.5505"
 	id("io.sentry.jvm.gradle") version "6.0.0"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "hexlet.code"
@@ -46,12 +62,16 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web")
 	implementation("org.springframework.boot:spring-boot-starter-security")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
+	// Метрики кэшей (Micrometer, /actuator/metrics)
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 
 
 	implementation("io.jsonwebtoken:jjwt-api:0.11.5")
 	runtimeOnly("io.jsonwebtoken:jjwt-impl:0.11.5")
 	runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.11.5")
 	implementation("org.springframework.security:spring-security-crypto")
+	// Кэш проверенных JWT (версия из Spring Boot BOM)
+	implementation("com.github.ben-manes.caffeine:caffeine")
 
 	// DB
 	runtimeOnly("com.h2database:h2")
@@ -85,6 +105,10 @@ dependencies {
 
 	// Сравнивает два JSON-документа
 	testImplementation("net.javacrumbs.json-unit:json-unit-assertj:5.1.0")
+
+	// JMH-бенчмарки: заглушки Mockito и MockHttpServletRequest
+	jmh("org.springframework:spring-test")
+	jmh("org.mockito:mockito-core")
 }
 
 checkstyle {
@@ -126,7 +150,77 @@ tasks.jacocoTestReport {
 	)
 }
 
+// Заранее сжатые варианты статики SPA (.gz и .br).
+// Они попадают в classpath рядом с оригиналами и отдаются по Accept-Encoding (см. WebMvcConfig).
+// Brotli считается библиотекой из buildscript, поэтому результат не зависит от окружения сборки,
+// а при недоступности кодировщика сборка падает, а не выпускает артефакт без .br
+val compressStaticAssets by tasks.registering {
+	description = "Precompresses static SPA assets with gzip and brotli."
+	group = "build"
+	val assets = fileTree("src/main/resources/static") {
+		include("**/*.html", "**/*.js", "**/*.css", "**/*.svg", "**/*.json")
+	}
+	val outputDir = layout.buildDirectory.dir("generated/compressed-resources")
+	val minSize = 1024L
+	val brotliQuality = 11
+	inputs.files(assets)
+	inputs.property("brotliQuality", brotliQuality)
+	outputs.dir(outputDir)
+	doLast {
+		val staticOut = outputDir.get().dir("static").asFile
+		staticOut.deleteRecursively()
+		com.aayushatharva.brotli4j.Brotli4jLoader.ensureAvailability()
+		val brotliParams = com.aayushatharva.brotli4j.encoder.Encoder.Parameters()
+			.setQuality(brotliQuality)
+			.setMode(com.aayushatharva.brotli4j.encoder.Encoder.Mode.TEXT)
+		assets.visit {
+			if (isDirectory || file.length() < minSize) {
+				return@visit
+			}
+			val gzip = File(staticOut, "$path.gz")
+			gzip.parentFile.mkdirs()
+			file.inputStream().use { input ->
+				object : java.util.zip.GZIPOutputStream(gzip.outputStream()) {
+					init {
+						def.setLevel(java.util.zip.Deflater.BEST_COMPRESSION)
+					}
+				}.use { input.copyTo(it) }
+			}
+			File(gzip.parent, "$name.br")
+				.writeBytes(com.aayushatharva.brotli4j.encoder.Encoder.compress(file.readBytes(), brotliParams))
+		}
+	}
+}
+
+sourceSets.main {
+	resources.srcDir(compressStaticAssets)
+}
+
 tasks.withType<Test> {
-	useJUnitPlatform()
+	val benchmark = name == "benchmark"
+	useJUnitPlatform {
+		// Бенчмарки (@Tag("benchmark")) запускаются только отдельной задачей benchmark
+		if (benchmark) includeTags("benchmark") else excludeTags("benchmark")
+	}
+}
+
+tasks.register<Test>("benchmark") {
+	description = "Runs performance benchmarks tagged with @Tag(\"benchmark\")."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	systemProperties(System.getProperties()
+		.filterKeys { it.toString().startsWith("benchmark.") }
+		.mapKeys { it.key.toString() })
+	testLogging.showStandardStreams = true
+	outputs.upToDateWhen { false }
+}
+
+// Микробенчмарки JMH (src/jmh/java): ./gradlew jmh
+jmh {
+	warmupIterations.set(3)
+	iterations.set(5)
+	fork.set(1)
+	timeUnit.set("us")
 }
 
@@ -0,0 +1,139 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.UserDetailsCache;
+import hexlet.code.config.JwtRequestFilter;
+import hexlet.code.config.JwtUtil;
+import hexlet.code.config.MyUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк аутентификации одного запроса в {@link JwtRequestFilter}: прежняя схема
+ * (ключ и парсер создаются заново, токен разбирается трижды: имя пользователя, затем имя и срок действия
+ * при валидации) против текущей (один разбор заранее созданным парсером) и текущей с попаданием
+ * в кэш проверенных токенов. Загрузка пользователя подменена заглушкой, чтобы мерить только работу с JWT.
+ * Запуск: {@code ./gradlew jmh}; результаты пишутся в {@code build/results/jmh/results.txt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "yourVeryLongAndRandomSecretKeyHere1234567890ABCDEF1234567890GHIJKLMNOP";
+    private static final int DISTINCT_TOKENS = 1_000;
+
+    private final UserDetails user = new User("user@mail.com", "pass", List.of());
+    private final FilterChain chain = (request, response) -> { };
+    private final String[] tokens = new String[DISTINCT_TOKENS];
+
+    private MyUserDetailsService userDetailsService;
+    private JwtRequestFilter singleParse;
+    private JwtRequestFilter cached;
+    private int next;
+
+    /**
+     * Создаёт токены и фильтры с кэшем проверенных токенов на 1 и на 10 000 записей.
+     */
+    @Setup
+    public void setUp() {
+        userDetailsService = Mockito.mock(MyUserDetailsService.class);
+        Mockito.when(userDetailsService.loadUserByUsername(user.getUsername())).thenReturn(user);
+
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            // разные сроки действия дают разные токены, поэтому кэш на 1 запись почти никогда не попадает
+            tokens[i] = Jwts.builder()
+                    .setSubject(user.getUsername())
+                    .setExpiration(new Date(System.currentTimeMillis() + 3_600_000 + i * 1_000L))
+                    .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .compact();
+        }
+
+        // токены без uid, поэтому версия токенов не сверяется и кэш пользователей не нужен
+        var userDetailsCache = Mockito.mock(UserDetailsCache.class);
+        singleParse = new JwtRequestFilter(userDetailsService,
+                new JwtUtil(SECRET, 3_600_000, 1, Duration.ofMinutes(5)), userDetailsCache, true);
+        cached = new JwtRequestFilter(userDetailsService,
+                new JwtUtil(SECRET, 3_600_000, 10_000, Duration.ofMinutes(5)), userDetailsCache, true);
+    }
+
+    /**
+     * Прежняя последовательность вызовов фильтра и JwtUtil до кэширования ключа и парсера.
+     *
+     * @return результат проверки токена
+     */
+    @Benchmark
+    public boolean parseThreeTimesWithNewParser() {
+        var token = nextToken();
+        var username = legacyParse(token).getSubject();
+        var userDetails = userDetailsService.loadUserByUsername(username);
+        return legacyParse(token).getSubject().equals(userDetails.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    /**
+     * Текущий фильтр: один разбор токена заранее созданным парсером, кэш почти не попадает.
+     *
+     * @return аутентификация, установленная фильтром
+     * @throws Exception при ошибке фильтра
+     */
+    @Benchmark
+    public Authentication singleParse() throws Exception {
+        return filter(singleParse);
+    }
+
+    /**
+     * Текущий фильтр с попаданием в кэш проверенных токенов.
+     *
+     * @return аутентификация, установленная фильтром
+     * @throws Exception при ошибке фильтра
+     */
+    @Benchmark
+    public Authentication cached() throws Exception {
+        return filter(cached);
+    }
+
+    private Authentication filter(JwtRequestFilter filter) throws Exception {
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + nextToken());
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        if (authentication == null) {
+            throw new IllegalStateException("Token was not accepted");
+        }
+        return authentication;
+    }
+
+    private String nextToken() {
+        next = (next + 1) % tokens.length;
+        return tokens[next];
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -2,7 +2,6 @@ package hexlet.code.component;
 
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.repository.TaskRepository;
-import hexlet.code.util.UserUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -16,33 +15,39 @@ import org.springframework.stereotype.Component;
 public class Authorizer {
 
     private final TaskRepository taskRepository;
-    private final UserUtils userUtils;
+    private final CurrentUser currentUser;
 
     /**
      * Проверяет, является ли текущий аутентифицированный пользователь
      * назначенным исполнителем (assignee) задачи с указанным идентификатором.
+     * Задача не загружается: проверка выполняется одним запросом по первичному ключу,
+     * а существование задачи проверяется отдельно только при отказе.
      *
      * @param taskId идентификатор задачи для проверки
      * @return true, если текущий пользователь является исполнителем задачи, иначе false
      * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена
      */
     public final boolean isAuthor(Long taskId) {
-        var task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-        var currentUser = userUtils.getCurrentUser();
-        return task.getAssignee().getId().equals(currentUser.getId());
+        var userId = currentUser.getId();
+        if (userId != null && taskRepository.existsByIdAndAssigneeId(taskId, userId)) {
+            return true;
+        }
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found");
+        }
+        return false;
     }
 
     /**
      * Проверяет, соответствует ли указанный идентификатор пользователя
      * идентификатору текущего аутентифицированного пользователя.
      * Используется для проверки, пытается ли пользователь изменить собственный профиль.
+     * Обращения к базе данных не требуется.
      *
      * @param userId идентификатор пользователя для проверки
      * @return true, если указанный идентификатор совпадает с идентификатором текущего пользователя, иначе false
      */
     public final boolean isSelf(Long userId) {
-        var currentUser = userUtils.getCurrentUser();
-        return currentUser.getId().equals(userId);
+        return userId != null && userId.equals(currentUser.getId());
     }
 }
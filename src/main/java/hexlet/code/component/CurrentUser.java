@@ -0,0 +1,68 @@
+package hexlet.code.component;
+
+import hexlet.code.config.UserPrincipal;
+import hexlet.code.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Текущий аутентифицированный пользователь (идентификатор и email) в рамках одного HTTP-запроса.
+ * Определяется один раз при первом обращении и переиспользуется всеми проверками прав и сервисами запроса.
+ * Обычно берётся из {@link UserPrincipal}, восстановленного из JWT, без обращения к БД;
+ * для других видов аутентификации идентификатор находится по email через {@link UserDetailsCache}.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUser {
+
+    private final UserDetailsCache userDetailsCache;
+
+    private Long id;
+
+    private String email;
+
+    /**
+     * Возвращает идентификатор текущего пользователя.
+     *
+     * @return идентификатор пользователя или null, если запрос не аутентифицирован
+     * @throws ResourceNotFoundException если пользователь с email из аутентификации не найден
+     */
+    public Long getId() {
+        resolve();
+        return id;
+    }
+
+    /**
+     * Возвращает email текущего пользователя.
+     *
+     * @return email пользователя или null, если запрос не аутентифицирован
+     * @throws ResourceNotFoundException если пользователь с email из аутентификации не найден
+     */
+    public String getEmail() {
+        resolve();
+        return email;
+    }
+
+    private void resolve() {
+        if (email != null) {
+            return;
+        }
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            id = principal.getId();
+        } else {
+            id = userDetailsCache.findByEmail(authentication.getName())
+                    .map(UserDetailsCache.CachedUser::id)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        }
+        email = authentication.getName();
+    }
+}
@@ -0,0 +1,34 @@
+package hexlet.code.component;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Компонент со сведениями о подключённой СУБД.
+ * Позволяет включать оптимизации, специфичные для PostgreSQL (production),
+ * и сохранять переносимое поведение на H2 (development и тесты).
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseInfo {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Проверяет, работает ли приложение с PostgreSQL.
+     * Результат определяется по метаданным соединения один раз и кешируется.
+     *
+     * @return true, если подключена PostgreSQL, иначе false
+     */
+    public boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
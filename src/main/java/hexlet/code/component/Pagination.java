@@ -0,0 +1,51 @@
+package hexlet.code.component;
+
+import hexlet.code.util.OffsetPageRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Компонент для разбора параметров постраничного вывода списков.
+ * Поддерживает два стиля: react-admin ({@code _start}/{@code _end}, смещения строк)
+ * и классический ({@code page}/{@code size}, номер страницы с нуля).
+ * Размер страницы ограничивается сверху, чтобы память на запрос зависела
+ * от размера страницы, а не от размера таблицы.
+ */
+@Component
+public class Pagination {
+
+    @Value("${app.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Строит {@link Pageable} по параметрам запроса.
+     * Если не передан ни один параметр, возвращается {@link Pageable#unpaged()} —
+     * прежнее поведение с выдачей всего списка.
+     *
+     * @param start смещение первой строки (react-admin {@code _start}) или null
+     * @param end   смещение строки после последней (react-admin {@code _end}) или null
+     * @param page  номер страницы с нуля или null
+     * @param size  размер страницы или null
+     * @param sort  порядок сортировки, обеспечивающий стабильные страницы
+     * @return описание запрашиваемой страницы
+     */
+    public Pageable resolve(Integer start, Integer end, Integer page, Integer size, Sort sort) {
+        if (start != null || end != null) {
+            long offset = start == null ? 0 : Math.max(0, start);
+            int limit = end == null ? maxPageSize : clamp(end - offset);
+            return new OffsetPageRequest(offset, limit, sort);
+        }
+        if (page != null || size != null) {
+            int pageSize = size == null ? maxPageSize : clamp(size);
+            return PageRequest.of(page == null ? 0 : Math.max(0, page), pageSize, sort);
+        }
+        return Pageable.unpaged();
+    }
+
+    private int clamp(long value) {
+        return (int) Math.max(1, Math.min(value, maxPageSize));
+    }
+}
@@ -0,0 +1,80 @@
+package hexlet.code.component;
+
+import hexlet.code.model.IdAllocation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Компонент, создающий и мигрирующий на PostgreSQL объекты схемы, которые Hibernate ({@code ddl-auto: update})
+ * не умеет описать аннотациями: расширения, индексы по выражениям, перенос ключей на последовательности,
+ * заполнение новых столбцов.
+ * На других СУБД ничего не делает. Все команды идемпотентны и выполняются при каждом запуске
+ * после обновления схемы Hibernate, но до старта веб-сервера и начальной загрузки данных.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostgresSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final List<String> AUDITED_TABLES = List.of("tasks", "labels", "task_statuses");
+
+    private static final List<String> VERSIONED_TABLES = List.of("tasks", "users", "task_statuses");
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "tasks", IdAllocation.TASKS_SEQUENCE,
+            "users", IdAllocation.USERS_SEQUENCE,
+            "labels", IdAllocation.LABELS_SEQUENCE,
+            "task_statuses", IdAllocation.TASK_STATUSES_SEQUENCE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseInfo databaseInfo;
+
+    /**
+     * Приводит схему PostgreSQL в актуальное состояние.
+     * <ul>
+     *     <li>Переводит первичные ключи с IDENTITY на последовательности Hibernate: снимает IDENTITY
+     *     со столбца {@code id} и сдвигает последовательность за максимальный существующий ключ
+     *     (никогда не назад, поэтому безопасно при одновременном запуске нескольких экземпляров).</li>
+     *     <li>Заполняет пустой {@code updated_at} строк, созданных до появления столбца, датой создания:
+     *     от него зависят ETag задач.</li>
+     *     <li>Проставляет нулевую версию ({@code @Version}) строкам, созданным до появления столбца:
+     *     Hibernate не умеет обновлять сущность с пустой версией.</li>
+     *     <li>Проставляет нулевую версию токенов ({@code users.token_version}) пользователям,
+     *     созданным до появления столбца: с ней сравнивается версия в JWT.</li>
+     *     <li>Создаёт расширение {@code pg_trgm} и триграммный GIN-индекс по {@code lower(name)},
+     *     который обслуживает фильтр {@code titleCont} ({@code lower(name) LIKE '%...%'}) без полного прохода.</li>
+     * </ul>
+     * Ошибка отдельной команды (например, нет прав на создание расширения) не мешает запуску.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!databaseInfo.isPostgres()) {
+            return;
+        }
+        SEQUENCES.forEach((table, sequence) -> {
+            execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+            execute("SELECT setval('" + sequence + "', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM " + table
+                    + "), nextval('" + sequence + "')), false)");
+        });
+        AUDITED_TABLES.forEach(table ->
+                execute("UPDATE " + table + " SET updated_at = created_at WHERE updated_at IS NULL"));
+        VERSIONED_TABLES.forEach(table -> execute("UPDATE " + table + " SET version = 0 WHERE version IS NULL"));
+        execute("UPDATE users SET token_version = 0 WHERE token_version IS NULL");
+        execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        execute("CREATE INDEX IF NOT EXISTS idx_tasks_name_trgm ON tasks USING gin (lower(name) gin_trgm_ops)");
+    }
+
+    private void execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            log.warn("Could not apply schema statement '{}': {}", sql, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package hexlet.code.component;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.OptionalLong;
+
+/**
+ * Компонент для приблизительного подсчёта строк таблицы по статистике планировщика PostgreSQL.
+ * Значение {@code pg_class.reltuples} обновляется VACUUM/ANALYZE и читается за O(1),
+ * тогда как точный {@code COUNT(*)} на больших таблицах требует полного прохода.
+ */
+@Component
+@RequiredArgsConstructor
+public class RowCountEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseInfo databaseInfo;
+
+    /**
+     * Возвращает оценку количества строк в таблице.
+     * Оценка недоступна на СУБД, отличных от PostgreSQL, а также для таблиц,
+     * по которым ещё не собиралась статистика.
+     *
+     * @param table имя таблицы
+     * @return оценка количества строк или {@link OptionalLong#empty()}, если оценка недоступна
+     */
+    public OptionalLong estimate(String table) {
+        if (!databaseInfo.isPostgres()) {
+            return OptionalLong.empty();
+        }
+        var values = jdbcTemplate.queryForList(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+        if (values.isEmpty() || values.get(0) == null || values.get(0) < 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(values.get(0));
+    }
+}
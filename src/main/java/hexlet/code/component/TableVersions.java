@@ -0,0 +1,139 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.util.ETags;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Счётчики изменений таблиц сущностей, хранящиеся в БД (таблица {@code table_versions}).
+ * Из них строятся слабые ETag списков: пока ни одна из таблиц, попадающих в ответ, не менялась,
+ * ETag остаётся прежним, и повторный запрос можно завершить ответом 304 без выборки и сериализации списка.
+ * Счётчик таблицы увеличивается в изменяющей транзакции один раз, сколько бы строк она ни затронула
+ * ({@link TableVersionsListener} для изменений через JPA, явный вызов {@link #changed(Class)} для пакетной
+ * вставки через JDBC), а читается поиском по первичному ключу. Поэтому ETag одинаков на всех экземплярах
+ * приложения и после перезапуска. Изменения в обход приложения (ручной SQL) счётчики не меняют.
+ */
+@Slf4j
+@Component
+public class TableVersions implements SmartInitializingSingleton {
+
+    private static final List<Class<?>> TRACKED = List.of(Label.class, Task.class, TaskStatus.class, User.class);
+
+    private static final String INCREMENT = "UPDATE table_versions SET version = version + 1 WHERE table_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Class<?>, String> tables = new ConcurrentHashMap<>();
+
+    public TableVersions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Создаёт недостающие строки счётчиков для таблиц сущностей с {@link TableVersionsListener}.
+     * Выполняется при каждом запуске после обновления схемы Hibernate; существующие счётчики не сбрасываются.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        TRACKED.stream().map(this::table).forEach(this::createIfMissing);
+    }
+
+    /**
+     * Отмечает изменение таблицы сущности в текущей транзакции. Счётчик увеличивается сразу,
+     * но только при первом вызове для таблицы в транзакции; без транзакции — при каждом вызове.
+     *
+     * @param type класс изменённой сущности
+     */
+    public void changed(Class<?> type) {
+        var table = table(type);
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && !changedTables().add(table)) {
+            return;
+        }
+        jdbcTemplate.update(INCREMENT, table);
+    }
+
+    /**
+     * Создаёт слабый ETag по счётчикам таблиц перечисленных сущностей одним запросом по первичному ключу.
+     * Должен вызываться до чтения данных ответа: тогда ETag никогда не новее тела ответа.
+     *
+     * @param types классы сущностей, из которых собирается ответ
+     * @return значение заголовка ETag
+     */
+    public String weakETag(Class<?>... types) {
+        var names = Arrays.stream(types).map(this::table).toList();
+        var sql = "SELECT table_name, version FROM table_versions WHERE table_name IN ("
+                + names.stream().map(name -> "?").collect(Collectors.joining(", ")) + ")";
+        var versions = new HashMap<String, Long>();
+        jdbcTemplate.query(sql, rs -> {
+            versions.put(rs.getString(1), rs.getLong(2));
+        }, names.toArray());
+        return ETags.weak(names.stream().map(name -> versions.getOrDefault(name, 0L)).toArray());
+    }
+
+    private void createIfMissing(String table) {
+        var exists = jdbcTemplate.queryForObject("SELECT count(*) FROM table_versions WHERE table_name = ?",
+                Long.class, table);
+        if (exists != null && exists > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO table_versions (table_name, version) VALUES (?, 0)", table);
+        } catch (DataAccessException e) {
+            // строку одновременно создал другой экземпляр приложения
+            log.debug("Could not create table version for {}: {}", table, e.getMessage());
+        }
+    }
+
+    private String table(Class<?> type) {
+        return tables.computeIfAbsent(type, key -> key.getAnnotation(Table.class).name());
+    }
+
+    // Таблицы, счётчики которых уже увеличены в текущей транзакции; набор отвязывается при её завершении
+    // и на время приостановки (вложенная REQUIRES_NEW-транзакция ведёт свой набор)
+    @SuppressWarnings("unchecked")
+    private Set<String> changedTables() {
+        var changed = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (changed != null) {
+            return changed;
+        }
+        var created = new HashSet<String>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TableVersions.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(TableVersions.this, created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TableVersions.this);
+            }
+        });
+        return created;
+    }
+}
@@ -0,0 +1,31 @@
+package hexlet.code.component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+
+/**
+ * JPA-слушатель, отмечающий изменения сущностей в {@link TableVersions}.
+ * Создаётся Hibernate через контейнер бинов Spring, поэтому зависимости внедряются через конструктор.
+ * Вызывается при сбросе изменений в БД, то есть внутри изменяющей транзакции: счётчик таблицы
+ * фиксируется или откатывается вместе с изменением.
+ */
+@RequiredArgsConstructor
+public class TableVersionsListener {
+
+    private final TableVersions tableVersions;
+
+    /**
+     * Отмечает изменение таблицы созданной, изменённой или удалённой сущности.
+     *
+     * @param entity сущность
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        tableVersions.changed(Hibernate.getClass(entity));
+    }
+}
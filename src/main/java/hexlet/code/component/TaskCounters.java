@@ -0,0 +1,155 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.Task.TaskCountsDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики задач в памяти процесса: всего, по статусам и по исполнителям.
+ * Позволяют отдавать количества без обращения к БД, даже если доска опрашивает их каждые несколько секунд.
+ * Счётчики заполняются запросами {@code GROUP BY} при запуске, изменяются сервисом задач после фиксации
+ * транзакции и периодически сверяются с БД ({@code app.tasks.counters.reconcile-interval}),
+ * чтобы исправить расхождения от изменений в обход сервиса и гонок со сверкой.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskCounters implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Counts counts = new Counts();
+
+    /**
+     * Заполняет счётчики по текущему содержимому таблицы задач.
+     *
+     * @param args аргументы командной строки (не используются)
+     */
+    @Override
+    public void run(String... args) {
+        reconcile();
+    }
+
+    /**
+     * Пересчитывает счётчики по таблице {@code tasks} и заменяет ими текущие.
+     * Изменения, зафиксированные во время пересчёта, могут быть учтены дважды или потеряны;
+     * такое расхождение исправляется следующей сверкой.
+     */
+    @Scheduled(initialDelayString = "${app.tasks.counters.reconcile-interval:PT5M}",
+            fixedDelayString = "${app.tasks.counters.reconcile-interval:PT5M}")
+    public void reconcile() {
+        var fresh = new Counts();
+        jdbcTemplate.query("SELECT status_id, COUNT(*) FROM tasks GROUP BY status_id", rs -> {
+            var statusId = rs.getLong(1);
+            if (!rs.wasNull()) {
+                fresh.byStatus.computeIfAbsent(statusId, key -> new LongAdder()).add(rs.getLong(2));
+            }
+        });
+        jdbcTemplate.query("SELECT assignee_id, COUNT(*) FROM tasks GROUP BY assignee_id", rs -> {
+            var assigneeId = rs.getLong(1);
+            var count = rs.getLong(2);
+            fresh.total.add(count);
+            if (rs.wasNull()) {
+                fresh.unassigned.add(count);
+            } else {
+                fresh.byAssignee.computeIfAbsent(assigneeId, key -> new LongAdder()).add(count);
+            }
+        });
+
+        var previous = counts;
+        counts = fresh;
+        if (previous.total.sum() != fresh.total.sum()) {
+            log.debug("Task counters drifted: {} in memory, {} in database", previous.total.sum(),
+                    fresh.total.sum());
+        }
+    }
+
+    /**
+     * Учитывает созданную задачу.
+     *
+     * @param statusId   идентификатор статуса задачи
+     * @param assigneeId идентификатор исполнителя или null
+     */
+    public void created(Long statusId, Long assigneeId) {
+        add(counts, statusId, assigneeId, 1);
+    }
+
+    /**
+     * Учитывает изменение статуса или исполнителя задачи.
+     *
+     * @param oldStatusId   прежний идентификатор статуса
+     * @param oldAssigneeId прежний идентификатор исполнителя или null
+     * @param newStatusId   новый идентификатор статуса
+     * @param newAssigneeId новый идентификатор исполнителя или null
+     */
+    public void changed(Long oldStatusId, Long oldAssigneeId, Long newStatusId, Long newAssigneeId) {
+        if (Objects.equals(oldStatusId, newStatusId) && Objects.equals(oldAssigneeId, newAssigneeId)) {
+            return;
+        }
+        var current = counts;
+        add(current, oldStatusId, oldAssigneeId, -1);
+        add(current, newStatusId, newAssigneeId, 1);
+    }
+
+    /**
+     * Учитывает удалённую задачу.
+     *
+     * @param statusId   идентификатор статуса задачи
+     * @param assigneeId идентификатор исполнителя или null
+     */
+    public void deleted(Long statusId, Long assigneeId) {
+        add(counts, statusId, assigneeId, -1);
+    }
+
+    /**
+     * Возвращает текущие значения счётчиков. Группы с нулевым количеством не включаются.
+     *
+     * @return количества задач всего, по статусам и по исполнителям
+     */
+    public TaskCountsDTO snapshot() {
+        var current = counts;
+        var result = new TaskCountsDTO();
+        result.setTotal(current.total.sum());
+        result.setUnassigned(current.unassigned.sum());
+        copyNonZero(current.byStatus, result.getByStatus());
+        copyNonZero(current.byAssignee, result.getByAssignee());
+        return result;
+    }
+
+    private static void add(Counts target, Long statusId, Long assigneeId, int delta) {
+        target.total.add(delta);
+        if (statusId != null) {
+            target.byStatus.computeIfAbsent(statusId, key -> new LongAdder()).add(delta);
+        }
+        if (assigneeId == null) {
+            target.unassigned.add(delta);
+        } else {
+            target.byAssignee.computeIfAbsent(assigneeId, key -> new LongAdder()).add(delta);
+        }
+    }
+
+    private static void copyNonZero(Map<Long, LongAdder> source, Map<Long, Long> target) {
+        source.forEach((id, adder) -> {
+            var value = adder.sum();
+            if (value != 0) {
+                target.put(id, value);
+            }
+        });
+    }
+
+    // Набор счётчиков заменяется целиком при сверке, поэтому изменения не смешиваются со старым набором
+    private static final class Counts {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder unassigned = new LongAdder();
+        private final Map<Long, LongAdder> byStatus = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> byAssignee = new ConcurrentHashMap<>();
+    }
+}
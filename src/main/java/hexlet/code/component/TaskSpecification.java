@@ -1,39 +1,60 @@
 package hexlet.code.component;
 
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.dto.LabelMatch;
 import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.util.TaskCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Компонент для построения спецификаций JPA (Criteria API) для фильтрации задач ({@link Task}).
  * Позволяет динамически формировать условия WHERE SQL-запроса на основе переданных параметров фильтрации.
  */
 @Component
+@RequiredArgsConstructor
 public class TaskSpecification {
 
+    private final TaskTitleIndex titleIndex;
+
     /**
      * Создаёт спецификацию JPA для фильтрации задач на основе переданных параметров.
      *
      * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации.
      *               Может содержать:
-     *               - {@code titleCont}: фильтрация по частичному совпадению с именем задачи (без учёта регистра).
+     *               - {@code titleCont}: фильтрация по частичному совпадению с именем задачи (без учёта регистра),
+     *                 ускоренная индексом {@link TaskTitleIndex} или триграммным индексом PostgreSQL.
      *               - {@code assigneeId}: фильтрация по идентификатору назначенного пользователя.
      *               - {@code status}: фильтрация по слагу статуса задачи.
      *               - {@code labelId}: фильтрация по идентификатору метки (many-to-many связь).
+     *               - {@code labelIds} и {@code labelMatch}: задачи хотя бы с одной ({@code any}, по умолчанию)
+     *                 или со всеми ({@code all}) из перечисленных меток.
      * @return объект {@link Specification<Task>}, который можно использовать в методах
      * {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor} для фильтрации.
      */
     public Specification<Task> build(TaskParamsDTO params) {
+        var labelIds = distinctLabelIds(params);
+        var labelMatch = LabelMatch.of(params.getLabelMatch());
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             if (params.getTitleCont() != null) {
-                predicates.add(cb.like(cb.lower(root.get("name")),
-                        "%" + params.getTitleCont().toLowerCase() + "%"));
+                var term = params.getTitleCont().toLowerCase();
+                predicates.add(cb.like(cb.lower(root.get("name")), "%" + term + "%"));
+                // На H2 сужаем поиск по ID из индекса в памяти; на PostgreSQL LIKE обслуживает GIN-индекс pg_trgm
+                titleIndex.findIds(term).ifPresent(ids ->
+                        predicates.add(ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids)));
             }
 
             if (params.getAssigneeId() != null) {
@@ -41,15 +62,98 @@ public class TaskSpecification {
             }
 
             if (params.getStatus() != null) {
-                predicates.add(cb.equal(root.get("taskStatus").get("slug"), params.getStatus()));
+                predicates.add(cb.equal(statusJoin(root).get("slug"), params.getStatus()));
             }
 
             if (params.getLabelId() != null) {
-                // Для ManyToMany используем join
-                predicates.add(cb.equal(root.join("labels").get("id"), params.getLabelId()));
+                predicates.add(hasLabels(root, query, cb, List.of(params.getLabelId()), LabelMatch.ANY));
+            }
+
+            if (!labelIds.isEmpty()) {
+                predicates.add(hasLabels(root, query, cb, labelIds, labelMatch));
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Возвращает соединение задачи со статусом, уже созданное в запросе, или создаёт внешнее (LEFT) соединение.
+     * Фильтр по статусу, выборка slug статуса и сортировка по нему используют одно соединение,
+     * а не по отдельному соединению с {@code task_statuses} на каждое обращение.
+     *
+     * @param root корень запроса задач
+     * @return соединение задачи с её статусом
+     */
+    @SuppressWarnings("unchecked")
+    public static Join<Task, TaskStatus> statusJoin(Root<Task> root) {
+        for (var join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("taskStatus")) {
+                return (Join<Task, TaskStatus>) join;
+            }
+        }
+        return root.join("taskStatus", JoinType.LEFT);
+    }
+
+    /**
+     * Возвращает идентификаторы меток из параметра {@code labelIds} без повторов и пустых значений.
+     *
+     * @param params параметры фильтрации
+     * @return список различных идентификаторов меток (может быть пустым)
+     */
+    public static List<Long> distinctLabelIds(TaskParamsDTO params) {
+        if (params.getLabelIds() == null) {
+            return List.of();
+        }
+        return params.getLabelIds().stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    /**
+     * Создаёт условие на метки задачи через коррелированный подзапрос к таблице {@code task_labels}
+     * вместо соединения: строки задач не размножаются, а планировщик может выполнить полусоединение
+     * по индексу {@code (label_id, task_id)}.
+     * Для {@link LabelMatch#ANY} — {@code EXISTS} хотя бы одной из меток,
+     * для {@link LabelMatch#ALL} — число найденных меток задачи равно числу запрошенных.
+     *
+     * @param root     корень запроса задач
+     * @param query    запрос, в котором создаётся подзапрос
+     * @param cb       построитель условий
+     * @param labelIds различные идентификаторы меток
+     * @param match    режим сравнения
+     * @return предикат на метки задачи
+     */
+    private static Predicate hasLabels(Root<Task> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                       List<Long> labelIds, LabelMatch match) {
+        var subquery = query.subquery(Long.class);
+        var task = subquery.correlate(root);
+        var label = task.join("labels");
+        var labelFilter = labelIds.size() == 1
+                ? cb.equal(label.get("id"), labelIds.get(0))
+                : label.get("id").in(labelIds);
+
+        if (match == LabelMatch.ALL && labelIds.size() > 1) {
+            subquery.select(cb.count(label)).where(labelFilter);
+            return cb.equal(subquery, (long) labelIds.size());
+        }
+        subquery.select(label.get("id")).where(labelFilter);
+        return cb.exists(subquery);
+    }
+
+    /**
+     * Создаёт seek-предикат для keyset-пагинации по паре ({@code createdAt}, {@code id}).
+     * Условие {@code createdAt > c OR (createdAt = c AND id > i)} обслуживается индексом
+     * {@code idx_tasks_created_at_id}, поэтому стоимость запроса не зависит от глубины пролистывания.
+     *
+     * @param cursor курсор, указывающий на последнюю задачу предыдущей страницы
+     * @return объект {@link Specification<Task>}, отбирающий задачи строго после курсора
+     */
+    public Specification<Task> after(TaskCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.greaterThan(root.get("id"), cursor.getId())
+                )
+        );
+    }
 }
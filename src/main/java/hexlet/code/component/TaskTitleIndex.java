@@ -0,0 +1,182 @@
+package hexlet.code.component;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Триграммный индекс названий задач в памяти процесса — аналог GIN-индекса {@code pg_trgm}
+ * для H2 (development и тесты), где индексов по подстроке нет.
+ * Для каждой тройки символов названия в нижнем регистре хранится множество ID задач,
+ * поэтому поиск подстроки сводится к пересечению коротких списков вместо полного прохода по таблице.
+ * Индекс заполняется при запуске и поддерживается {@link TaskTitleIndexListener}
+ * при создании, изменении и удалении задач. На PostgreSQL отключён: там работает настоящий индекс.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskTitleIndex implements CommandLineRunner {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseInfo databaseInfo;
+
+    private final Map<Long, String> titles = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean ready;
+
+    @Value("${app.tasks.search.max-matches:10000}")
+    private int maxMatches;
+
+    /**
+     * Строит индекс по текущему содержимому таблицы задач (только не на PostgreSQL).
+     *
+     * @param args аргументы командной строки (не используются)
+     */
+    @Override
+    public void run(String... args) {
+        if (!databaseInfo.isPostgres()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Полностью перестраивает индекс по таблице {@code tasks}.
+     * Нужен после массовой загрузки данных в обход JPA; на время перестройки поиск
+     * не сужается индексом и идёт обычным {@code LIKE}.
+     */
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            ready = false;
+            titles.clear();
+            postings.clear();
+            jdbcTemplate.query("SELECT id, name FROM tasks", rs -> {
+                add(rs.getLong(1), rs.getString(2));
+            });
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Добавляет задачу в индекс или обновляет её название.
+     *
+     * @param id   идентификатор задачи
+     * @param name новое название задачи
+     */
+    public void put(Long id, String name) {
+        if (databaseInfo.isPostgres()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            removeFromPostings(id);
+            add(id, name);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Удаляет задачу из индекса.
+     *
+     * @param id идентификатор задачи
+     */
+    public void remove(Long id) {
+        if (databaseInfo.isPostgres()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            removeFromPostings(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Находит ID задач, название которых содержит подстроку (без учёта регистра).
+     * Кандидаты берутся из самого короткого списка триграмм и проверяются по сохранённым названиям,
+     * поэтому результат точный. Пустой {@link Optional} означает, что индекс не может помочь
+     * (он отключён или не построен, подстрока короче трёх символов, совпадений слишком много),
+     * и фильтр должен выполняться одним {@code LIKE}.
+     *
+     * @param term искомая подстрока
+     * @return множество ID подходящих задач или {@link Optional#empty()}
+     */
+    public Optional<Set<Long>> findIds(String term) {
+        if (!ready || term.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+        var needle = term.toLowerCase();
+        Set<Long> candidates = null;
+        for (var gram : grams(needle)) {
+            var ids = postings.get(gram);
+            if (ids == null) {
+                return Optional.of(Set.of());
+            }
+            if (candidates == null || ids.size() < candidates.size()) {
+                candidates = ids;
+            }
+        }
+
+        var matches = new HashSet<Long>();
+        for (var id : candidates) {
+            var title = titles.get(id);
+            if (title != null && title.contains(needle)) {
+                matches.add(id);
+                if (matches.size() > maxMatches) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.of(matches);
+    }
+
+    private void add(Long id, String name) {
+        if (name == null) {
+            return;
+        }
+        var title = name.toLowerCase();
+        titles.put(id, title);
+        for (var gram : grams(title)) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void removeFromPostings(Long id) {
+        var title = titles.remove(id);
+        if (title == null) {
+            return;
+        }
+        for (var gram : grams(title)) {
+            var ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        var result = new HashSet<String>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+}
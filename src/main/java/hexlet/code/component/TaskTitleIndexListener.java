@@ -0,0 +1,44 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Task;
+import hexlet.code.util.TransactionUtils;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA-слушатель сущности {@link Task}, поддерживающий {@link TaskTitleIndex} в актуальном состоянии.
+ * Создаётся Hibernate через контейнер бинов Spring, поэтому зависимости внедряются через конструктор.
+ * Изменения применяются к индексу только после фиксации транзакции,
+ * чтобы откаченные изменения не попадали в результаты поиска.
+ */
+@RequiredArgsConstructor
+public class TaskTitleIndexListener {
+
+    private final TaskTitleIndex titleIndex;
+
+    /**
+     * Индексирует название созданной или изменённой задачи.
+     *
+     * @param task сохранённая задача
+     */
+    @PostPersist
+    @PostUpdate
+    public void onSave(Task task) {
+        var id = task.getId();
+        var name = task.getName();
+        TransactionUtils.afterCommit(() -> titleIndex.put(id, name));
+    }
+
+    /**
+     * Удаляет задачу из индекса.
+     *
+     * @param task удалённая задача
+     */
+    @PostRemove
+    public void onRemove(Task task) {
+        var id = task.getId();
+        TransactionUtils.afterCommit(() -> titleIndex.remove(id));
+    }
+}
@@ -0,0 +1,207 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш учётных данных пользователей в памяти процесса по email и по идентификатору.
+ * Избавляет от повторных {@code findByEmail} при проверке токенов и определении текущего пользователя,
+ * в том числе нескольких в одном запросе. Хеш пароля не кэшируется: при входе пользователь
+ * загружается из БД ({@link #loadForAuthentication(String)}). Размер и время жизни записей ограничены
+ * ({@code app.users.cache.max-size}, {@code app.users.cache.ttl}).
+ * Неизвестные email запоминаются отдельно на короткое время ({@code app.users.cache.unknown-ttl}),
+ * чтобы поток входов с несуществующими email не обращался к БД на каждый. Пользователь, созданный
+ * на этом экземпляре, сразу перестаёт считаться неизвестным, а созданный на другом экземпляре
+ * может не суметь войти здесь, пока не истечёт {@code unknown-ttl}: поэтому оно намного короче {@code ttl}.
+ * Сервис пользователей сбрасывает запись после фиксации изменения email или пароля и удаления,
+ * а изменения на других экземплярах приложения и в обход сервиса видны не позже истечения записи:
+ * от этого зависит, как быстро другие экземпляры начнут отклонять токены после смены пароля.
+ * Попадания и промахи публикуются в метриках {@code cache.gets} с тегами {@code cache=users-by-email},
+ * {@code cache=users-by-id} и {@code cache=users-unknown-email}.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, CachedUser> byEmail;
+
+    private final Cache<Long, CachedUser> byId;
+
+    private final Cache<String, Boolean> unknownEmails;
+
+    // Счётчик сбросов, в том числе неизвестных email: загрузка, начатая до сброса, не кэширует прочитанное
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Создаёт кэш и регистрирует его метрики.
+     *
+     * @param userRepository репозиторий пользователей
+     * @param meterRegistry  реестр метрик
+     * @param maxSize        максимальное количество записей в каждом из кэшей
+     * @param ttl            время жизни записи
+     * @param unknownTtl     время, в течение которого email считается неизвестным без повторного запроса к БД
+     */
+    public UserDetailsCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                            @Value("${app.users.cache.max-size:10000}") long maxSize,
+                            @Value("${app.users.cache.ttl:PT1M}") Duration ttl,
+                            @Value("${app.users.cache.unknown-ttl:PT30S}") Duration unknownTtl) {
+        this.userRepository = userRepository;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.unknownEmails = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(unknownTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users-by-email");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users-by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownEmails, "users-unknown-email");
+    }
+
+    /**
+     * Возвращает учётные данные пользователя по email, при промахе загружая их из БД.
+     * Email, недавно не найденный в БД, сразу возвращается как неизвестный.
+     *
+     * @param email email пользователя
+     * @return учётные данные или {@link Optional#empty()}, если пользователь не найден
+     */
+    public Optional<CachedUser> findByEmail(String email) {
+        if (unknownEmails.getIfPresent(email) != null) {
+            return Optional.empty();
+        }
+        var cached = byEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return loadByEmail(email).map(UserDetailsCache::snapshot);
+    }
+
+    /**
+     * Возвращает учётные данные пользователя по идентификатору, при промахе загружая их из БД.
+     *
+     * @param id идентификатор пользователя
+     * @return учётные данные или {@link Optional#empty()}, если пользователь не найден
+     */
+    public Optional<CachedUser> findById(Long id) {
+        var cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        var generation = evictions.get();
+        var user = userRepository.findById(id).map(UserDetailsCache::snapshot);
+        user.ifPresent(snapshot -> remember(snapshot, generation));
+        return user;
+    }
+
+    /**
+     * Загружает пользователя из БД для проверки пароля при входе, минуя закэшированные записи:
+     * хеш пароля в кэше не хранится, поэтому пароль, изменённый на другом экземпляре приложения,
+     * действует сразу. Загруженные данные обновляют кэш, а неизвестные email учитываются так же,
+     * как в {@link #findByEmail(String)}.
+     *
+     * @param email email пользователя
+     * @return пользователь с хешем пароля или {@link Optional#empty()}, если пользователь не найден
+     */
+    public Optional<User> loadForAuthentication(String email) {
+        if (unknownEmails.getIfPresent(email) != null) {
+            return Optional.empty();
+        }
+        return loadByEmail(email);
+    }
+
+    /**
+     * Удаляет из кэша все записи пользователя, в том числе по его прежнему email.
+     *
+     * @param id идентификатор пользователя
+     */
+    public void evict(Long id) {
+        evictions.incrementAndGet();
+        byId.invalidate(id);
+        byEmail.asMap().values().removeIf(user -> user.id().equals(id));
+    }
+
+    /**
+     * Перестаёт считать email неизвестным, например после создания пользователя с ним.
+     *
+     * @param email email пользователя
+     */
+    public void evictUnknown(String email) {
+        evictions.incrementAndGet();
+        unknownEmails.invalidate(email);
+    }
+
+    /**
+     * Очищает кэш полностью.
+     */
+    public void evictAll() {
+        evictions.incrementAndGet();
+        byId.invalidateAll();
+        byEmail.invalidateAll();
+        unknownEmails.invalidateAll();
+    }
+
+    private Optional<User> loadByEmail(String email) {
+        var generation = evictions.get();
+        var user = userRepository.findByEmail(email);
+        if (user.isEmpty()) {
+            rememberUnknown(email, generation);
+        } else {
+            remember(snapshot(user.get()), generation);
+        }
+        return user;
+    }
+
+    // Запись, прочитанная до фиксации изменения, не должна пережить сброс после фиксации:
+    // сброс после записи удаляет её сам, а сброс между чтением из БД и записью замечается по счётчику сбросов
+    private void remember(CachedUser user, long generation) {
+        byEmail.put(user.email(), user);
+        byId.put(user.id(), user);
+        if (evictions.get() != generation) {
+            byEmail.asMap().remove(user.email(), user);
+            byId.asMap().remove(user.id(), user);
+        }
+    }
+
+    // Промах, не нашедший пользователя до фиксации его создания, не должен пометить email неизвестным
+    // после сброса: иначе только что созданный пользователь не сможет войти до истечения unknown-ttl
+    private void rememberUnknown(String email, long generation) {
+        unknownEmails.put(email, Boolean.TRUE);
+        if (evictions.get() != generation) {
+            unknownEmails.asMap().remove(email, Boolean.TRUE);
+        }
+    }
+
+    private static CachedUser snapshot(User user) {
+        var tokenVersion = user.getTokenVersion() == null ? 0 : user.getTokenVersion();
+        return new CachedUser(user.getId(), user.getEmail(), tokenVersion);
+    }
+
+    /**
+     * Неизменяемый снимок учётных данных пользователя без хеша пароля.
+     * Сущность {@link User} не кэшируется: она изменяемая и привязана к сессии Hibernate.
+     *
+     * @param id           идентификатор пользователя
+     * @param email        email пользователя
+     * @param tokenVersion версия токенов пользователя
+     */
+    public record CachedUser(Long id, String email, long tokenVersion) {
+    }
+}
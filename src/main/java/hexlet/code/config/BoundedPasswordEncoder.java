@@ -0,0 +1,174 @@
+package hexlet.code.config;
+
+import hexlet.code.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Кодировщик паролей BCrypt, выполняющий хеширование и проверку паролей в отдельном ограниченном пуле потоков.
+ * Поток запроса ждёт результата, не занимая процессор, поэтому всплеск входов не отнимает процессор
+ * у остальных запросов API сверх размера пула. Если пул и очередь заполнены, вызов сразу отклоняется
+ * с {@link TooManyRequestsException} (HTTP 429).
+ * Размер пула, длина очереди и стоимость BCrypt задаются свойствами {@code spring.security.password.*};
+ * занятость пула и очередь публикуются в метриках {@code executor.*} с тегом {@code name=password-hashing},
+ * отклонённые вызовы считает {@code password.hashing.rejected}.
+ */
+@Slf4j
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String POOL_NAME = "password-hashing";
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final int strength;
+
+    private final BCryptPasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Counter rejected;
+
+    private final boolean calibrate;
+
+    private final Duration calibrationTarget;
+
+    /**
+     * Создаёт кодировщик и пул потоков для него.
+     *
+     * @param strength          стоимость BCrypt (log2 числа раундов)
+     * @param threads           размер пула; 0 — половина доступных процессоров, но не меньше одного
+     * @param queueCapacity     сколько вызовов может ждать свободного потока
+     * @param calibrate         измерять ли время хеширования при запуске
+     * @param calibrationTarget желаемое время одного хеширования
+     * @param meterRegistry     реестр метрик
+     */
+    public BoundedPasswordEncoder(@Value("${spring.security.password.bcrypt-strength:10}") int strength,
+                                  @Value("${spring.security.password.hashing.threads:0}") int threads,
+                                  @Value("${spring.security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${spring.security.password.calibration.enabled:true}") boolean calibrate,
+                                  @Value("${spring.security.password.calibration.target:PT0.25S}")
+                                  Duration calibrationTarget,
+                                  MeterRegistry meterRegistry) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        var poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name(POOL_NAME + "-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing calls rejected because the pool was saturated")
+                .register(meterRegistry);
+        this.calibrate = calibrate;
+        this.calibrationTarget = calibrationTarget;
+        new ExecutorServiceMetrics(executor, POOL_NAME, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Хеширует пароль в пуле хеширования.
+     *
+     * @param rawPassword пароль
+     * @return хеш BCrypt
+     * @throws TooManyRequestsException если пул хеширования перегружен
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Проверяет пароль по хешу в пуле хеширования.
+     *
+     * @param rawPassword     пароль
+     * @param encodedPassword хеш BCrypt
+     * @return true, если пароль соответствует хешу
+     * @throws TooManyRequestsException если пул хеширования перегружен
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Проверяет, нужно ли перехешировать пароль (например, после изменения стоимости BCrypt).
+     * Хеш не вычисляется, поэтому вызов выполняется в текущем потоке.
+     *
+     * @param encodedPassword хеш BCrypt
+     * @return true, если хеш создан с другой стоимостью
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Измеряет время хеширования с настроенной стоимостью и сообщает стоимость,
+     * ближайшую к желаемому времени ({@code spring.security.password.calibration.target}).
+     * Время хеширования удваивается с каждой единицей стоимости, поэтому рекомендация вычисляется по одному замеру.
+     * Стоимость не меняется автоматически: от неё зависит время входа на всех экземплярах.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        if (!calibrate) {
+            return;
+        }
+        // первый вызов прогревает JIT и не учитывается
+        delegate.encode("calibration");
+        var started = System.nanoTime();
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            delegate.encode("calibration");
+        }
+        var millis = (System.nanoTime() - started) / 1_000_000.0 / CALIBRATION_ROUNDS;
+        var steps = (int) Math.round(Math.log(calibrationTarget.toMillis() / Math.max(millis, 0.01)) / Math.log(2));
+        var recommended = Math.clamp(strength + steps, 4, 31);
+        if (recommended == strength) {
+            log.info("BCrypt strength {}: {} ms per hash, {} hashing threads",
+                    strength, String.format("%.1f", millis), executor.getMaximumPoolSize());
+        } else {
+            log.warn("BCrypt strength {}: {} ms per hash, target {} ms is closest to strength {}",
+                    strength, String.format("%.1f", millis), calibrationTarget.toMillis(), recommended);
+        }
+    }
+
+    /**
+     * Останавливает пул хеширования при завершении приложения.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Server is busy, retry later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
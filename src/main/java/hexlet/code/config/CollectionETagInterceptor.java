@@ -0,0 +1,51 @@
+package hexlet.code.config;
+
+import hexlet.code.component.TableVersions;
+import hexlet.code.util.ETags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Перехватчик условных GET-запросов к спискам сущностей.
+ * Выдаёт слабый ETag по счётчикам изменений таблиц ({@link TableVersions}), из которых собирается список,
+ * и отвечает 304 Not Modified на совпадающий {@code If-None-Match} ещё до вызова контроллера:
+ * одним запросом по первичному ключу вместо выборки списка, маппинга и сериализации.
+ */
+public class CollectionETagInterceptor implements HandlerInterceptor {
+
+    private final TableVersions tableVersions;
+    private final Class<?>[] types;
+
+    /**
+     * Создаёт перехватчик для списка, собираемого из сущностей перечисленных типов.
+     *
+     * @param tableVersions версии таблиц
+     * @param types         классы сущностей, изменение которых меняет ответ
+     */
+    public CollectionETagInterceptor(TableVersions tableVersions, Class<?>... types) {
+        this.tableVersions = tableVersions;
+        this.types = types;
+    }
+
+    /**
+     * Проверяет {@code If-None-Match} GET-запроса и проставляет ETag и Cache-Control ответа.
+     *
+     * @param request  HTTP-запрос
+     * @param response HTTP-ответ
+     * @param handler  обработчик запроса
+     * @return false, если ответ 304 уже сформирован и контроллер вызывать не нужно
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ETags.REVALIDATE.getHeaderValue());
+        var etag = tableVersions.weakETag(types);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
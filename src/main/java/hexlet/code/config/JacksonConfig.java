@@ -1,12 +1,16 @@
 package hexlet.code.config;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Конфигурационный класс для настройки параметров сериализации/десериализации JSON.
- * В частности, регистрирует модуль для корректной обработки типов JsonNullable.
+ * В частности, регистрирует модуль для корректной обработки типов JsonNullable
+ * и фильтр полей по умолчанию для DTO с {@link com.fasterxml.jackson.annotation.JsonFilter}.
  */
 @Configuration
 public class JacksonConfig {
@@ -22,4 +26,17 @@ public class JacksonConfig {
     public JsonNullableModule jsonNullableModule() {
         return new JsonNullableModule();
     }
+
+    /**
+     * Регистрирует фильтр по умолчанию, который сериализует все поля.
+     * Он применяется к DTO с {@link com.fasterxml.jackson.annotation.JsonFilter}
+     * (например, {@link hexlet.code.dto.Task.TaskDTO}), когда ответ не задаёт свой набор полей.
+     *
+     * @return настройка {@link org.springframework.http.converter.json.Jackson2ObjectMapperBuilder}
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer defaultFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
 }
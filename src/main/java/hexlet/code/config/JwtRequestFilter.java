@@ -1,5 +1,7 @@
 package hexlet.code.config;
 
+import hexlet.code.component.UserDetailsCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,7 +19,14 @@ import java.io.IOException;
  * Фильтр Spring Security, который перехватывает каждый HTTP-запрос
  * для извлечения и проверки JWT-токена из заголовка Authorization.
  * Если токен действителен, аутентифицированный пользователь устанавливается
- * в SecurityContext для дальнейшей авторизации.
+ * в SecurityContext для дальнейшей авторизации. Токен разбирается и проверяется один раз за запрос.
+ * Пользователь восстанавливается из утверждений токена ({@code uid}, {@code authorities}) без запроса к БД;
+ * только токены, выданные без этих утверждений, проверяются по БД через {@link MyUserDetailsService}.
+ * Если включена проверка отзыва ({@code spring.security.jwt.revocation.enabled}, по умолчанию включена),
+ * версия токенов из утверждения {@code tv} сверяется с версией пользователя в БД через {@link UserDetailsCache}:
+ * после смены пароля или email и после удаления пользователя его прежние токены отклоняются
+ * на всех экземплярах приложения (на других экземплярах — не позже {@code app.users.cache.ttl}).
+ * Без проверки токен действует до истечения срока, и запрос не обращается ни к кэшу, ни к БД.
  * Запросы к маршрутам, указанным в {@link #shouldNotFilter}, не проходят через этот фильтр.
  */
 @RequiredArgsConstructor
@@ -26,6 +35,8 @@ public final class JwtRequestFilter extends OncePerRequestFilter {
 
     private final MyUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final UserDetailsCache userDetailsCache;
+    private final boolean checkTokenVersion;
 
     /**
      * Определяет, должен ли данный запрос быть исключен из фильтрации этим фильтром.
@@ -77,26 +88,35 @@ public final class JwtRequestFilter extends OncePerRequestFilter {
                 return;
             }
 
+            if (SecurityContextHolder.getContext().getAuthentication() != null) {
+                log.debug("Security Context already had an Authentication object, skipping.");
+                chain.doFilter(request, response);
+                return;
+            }
+
             try {
-                String username = jwtUtil.extractUsername(token);
+                // подпись и срок действия проверяются одним разбором токена (или берутся из кэша JwtUtil)
+                Claims claims = jwtUtil.parse(token);
+                String username = claims.getSubject();
                 log.debug("Successfully extracted username '{}' from token.", username);
 
-                if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                    if (jwtUtil.validateToken(token, userDetails)) {
-                        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-                        SecurityContextHolder.getContext().setAuthentication(auth);
-                        log.debug("Authenticated user '{}' and set security context.", username);
-                    } else {
-                        log.warn("JWT Token is valid format but validation failed (e.g., expired or wrong user).");
-                    }
+                UserPrincipal principal = jwtUtil.toPrincipal(claims);
+                UserDetails userDetails = principal != null
+                        ? principal
+                        : userDetailsService.loadUserByUsername(username);
+
+                if (principal != null && checkTokenVersion && !isCurrent(principal)) {
+                    log.warn("JWT Token for user '{}' has been revoked.", username);
+                } else if (jwtUtil.validateToken(claims, userDetails)) {
+                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                    log.debug("Authenticated user '{}' and set security context.", username);
                 } else {
-                    log.debug("Security Context already had an Authentication object, skipping.");
+                    log.warn("JWT Token is valid format but validation failed (e.g., expired or wrong user).");
                 }
             } catch (io.jsonwebtoken.ExpiredJwtException e) {
                 log.warn("Expired JWT: {}", e.getMessage());
@@ -109,4 +129,11 @@ public final class JwtRequestFilter extends OncePerRequestFilter {
 
         chain.doFilter(request, response);
     }
+
+    // токен выдан для текущей версии токенов существующего пользователя
+    private boolean isCurrent(UserPrincipal principal) {
+        return userDetailsCache.findById(principal.getId())
+                .map(user -> user.tokenVersion() == principal.getTokenVersion())
+                .orElse(false);
+    }
 }
@@ -1,35 +1,109 @@
 package hexlet.code.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 /**
  * Утилитарный компонент для работы с JWT (JSON Web Token).
  * Предоставляет методы для генерации, извлечения данных и валидации токенов.
+ * Ключ подписи и парсер создаются один раз при старте; недавно проверенные токены
+ * хранятся в ограниченном кэше, поэтому повторный запрос с тем же токеном не проверяет подпись заново.
  */
 @Component
 public final class JwtUtil {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String AUTHORITIES_CLAIM = "authorities";
+    static final String TOKEN_VERSION_CLAIM = "tv";
+
     /**
-     * Секретный ключ для подписи JWT, загружаемый из конфигурационного файла (например, application.yml).
+     * Время жизни токена в миллисекундах, загружаемое из конфигурационного файла.
      */
-    @Value("${spring.security.jwt.secret}")
-    private String secretKey;
+    private final long expiration;
 
     /**
-     * Время жизни токена в миллисекундах, загружаемое из конфигурационного файла.
+     * Ключ подписи HMAC-SHA, построенный из секрета {@code spring.security.jwt.secret}.
+     */
+    private final SecretKey signingKey;
+
+    /**
+     * Парсер с ключом подписи; потокобезопасен и переиспользуется всеми запросами.
+     */
+    private final JwtParser parser;
+
+    /**
+     * Утверждения недавно проверенных токенов. Запись живёт не дольше самого токена
+     * и не дольше {@code spring.security.jwt.cache.ttl}.
+     */
+    private final Cache<String, Claims> verifiedTokens;
+
+    /**
+     * Создаёт утилиту с ключом подписи и кэшем проверенных токенов.
+     *
+     * @param secretKey    секретный ключ для подписи JWT
+     * @param expiration   время жизни токена в миллисекундах
+     * @param cacheSize    максимальное количество токенов в кэше
+     * @param cacheTtl     максимальное время хранения токена в кэше
      */
-    @Value("${spring.security.jwt.expiration}")
-    private long expiration;
+    public JwtUtil(@Value("${spring.security.jwt.secret}") String secretKey,
+                   @Value("${spring.security.jwt.expiration}") long expiration,
+                   @Value("${spring.security.jwt.cache.max-size:10000}") long cacheSize,
+                   @Value("${spring.security.jwt.cache.ttl:PT5M}") Duration cacheTtl) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                        return timeToLive(claims, cacheTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, Claims claims, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, Claims claims, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Проверяет подпись и срок действия токена и возвращает все его утверждения.
+     * Токен разбирается не больше одного раза, пока находится в кэше проверенных токенов.
+     *
+     * @param token JWT-токен
+     * @return объект {@link Claims}, содержащий все утверждения токена
+     * @throws io.jsonwebtoken.JwtException если подпись неверна, токен повреждён или истёк
+     */
+    public Claims parse(String token) {
+        return verifiedTokens.get(token, this::extractAllClaims);
+    }
 
     /**
      * Извлекает имя пользователя (subject) из JWT-токена.
@@ -60,46 +134,90 @@ public final class JwtUtil {
      * @return результат применения {@code claimsResolver} к утверждениям токена
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parse(token);
         return claimsResolver.apply(claims);
     }
 
     /**
      * Парсит JWT-токен и извлекает из него все утверждения (claims).
-     * Использует секретный ключ для проверки подписи токена.
+     * Использует заранее созданный парсер с ключом подписи.
      *
      * @param token JWT-токен для парсинга
      * @return объект {@link Claims}, содержащий все утверждения токена
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Время хранения токена в кэше: до истечения токена, но не дольше {@code maxTtl}.
+     *
+     * @param claims утверждения токена
+     * @param maxTtl максимальное время хранения
+     * @return время хранения
+     */
+    private static Duration timeToLive(Claims claims, Duration maxTtl) {
+        if (claims.getExpiration() == null) {
+            return maxTtl;
+        }
+        var untilExpiration = Duration.ofMillis(Math.max(0,
+                claims.getExpiration().getTime() - System.currentTimeMillis()));
+        return untilExpiration.compareTo(maxTtl) < 0 ? untilExpiration : maxTtl;
     }
 
     /**
      * Проверяет, истёк ли срок действия токена.
      *
-     * @param token JWT-токен для проверки
+     * @param claims утверждения токена
      * @return true, если текущая дата позже даты истечения токена, иначе false
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     /**
      * Генерирует новый JWT-токен для указанного пользователя.
+     * В токен записываются права пользователя, а для {@link UserPrincipal} — и его идентификатор
+     * с версией токенов, чтобы последующие запросы аутентифицировались без загрузки пользователя из БД.
      *
      * @param userDetails объект {@link UserDetails}, содержащий информацию о пользователе
      * @return сгенерированный JWT-токен в виде строки
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        if (userDetails instanceof UserPrincipal principal) {
+            claims.put(USER_ID_CLAIM, principal.getId());
+            claims.put(TOKEN_VERSION_CLAIM, principal.getTokenVersion());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Восстанавливает пользователя из утверждений проверенного токена без обращения к БД.
+     *
+     * @param claims утверждения токена, полученные через {@link #parse(String)}
+     * @return пользователь с идентификатором, версией токенов и правами из токена или null, если токен выдан
+     *         без идентификатора пользователя
+     */
+    public UserPrincipal toPrincipal(Claims claims) {
+        var userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (userId == null) {
+            return null;
+        }
+        List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+        var grantedAuthorities = authorities == null
+                ? List.<GrantedAuthority>of()
+                : authorities.stream()
+                        .map(authority -> (GrantedAuthority) new SimpleGrantedAuthority(authority.toString()))
+                        .toList();
+        var tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Long.class);
+        return new UserPrincipal(userId, claims.getSubject(), "", tokenVersion == null ? 0 : tokenVersion,
+                grantedAuthorities);
+    }
+
     /**
      * Создаёт JWT-токен с указанными утверждениями и именем пользователя.
      *
@@ -113,7 +231,7 @@ public final class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes()), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -127,7 +245,18 @@ public final class JwtUtil {
      * @return true, если токен действителен, иначе false
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(parse(token), userDetails);
+    }
+
+    /**
+     * Проверяет уже разобранные утверждения токена для указанного пользователя,
+     * не разбирая токен повторно.
+     *
+     * @param claims       утверждения токена, полученные через {@link #parse(String)}
+     * @param userDetails  объект {@link UserDetails}, представляющий ожидаемого владельца токена
+     * @return true, если токен действителен, иначе false
+     */
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 }
@@ -1,11 +1,12 @@
 package hexlet.code.config;
 
-import hexlet.code.repository.UserRepository;
+import hexlet.code.component.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import java.util.Objects;
 
 /**
  * Сервис, реализующий интерфейс {@link UserDetailsService}.
@@ -16,28 +17,26 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public final class MyUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     /**
-     * Загружает данные пользователя из базы данных по его имени пользователя (email).
+     * Загружает данные пользователя по его имени пользователя (email) через {@link UserDetailsCache}.
+     * Хеш пароля всегда читается из базы: пароль, изменённый на другом экземпляре приложения, действует сразу.
      * Если пользователь не найден, выбрасывает {@link UsernameNotFoundException}.
-     * Возвращает объект {@link UserDetails}, содержащий имя пользователя (email),
+     * Возвращает объект {@link UserPrincipal}, содержащий идентификатор и имя пользователя (email),
      * закодированный пароль и роли (в данном случае, "ROLE_USER").
      *
      * @param username имя пользователя (email), по которому производится поиск
-     * @return объект {@link UserDetails}, представляющий аутентифицированного пользователя
+     * @return объект {@link UserPrincipal}, представляющий аутентифицированного пользователя
      * @throws UsernameNotFoundException если пользователь с указанным email не найден в базе данных
      */
     @Override
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Ищем в базе по email
-        return userRepository.findByEmail(username)
-                .map(user -> org.springframework.security.core.userdetails.User.builder()
-                        .username(user.getEmail())
-                        .password(user.getPassword())
-                        .authorities("ROLE_USER")
-                        .build()
-                )
+    public UserPrincipal loadUserByUsername(String username) throws UsernameNotFoundException {
+        // Неизвестные email отсекаются кэшем, остальные читаются из базы
+        return userDetailsCache.loadForAuthentication(username)
+                .map(user -> new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(),
+                        Objects.requireNonNullElse(user.getTokenVersion(), 0L),
+                        AuthorityUtils.createAuthorityList("ROLE_USER")))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 }
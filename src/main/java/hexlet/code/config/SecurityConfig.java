@@ -1,6 +1,8 @@
 package hexlet.code.config;
 
+import hexlet.code.component.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,7 +15,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -34,16 +35,8 @@ public class SecurityConfig {
 
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final MyUserDetailsService myUserDetailsService;
-
-    /**
-     * Создаёт бин для кодировщика паролей, используя алгоритм BCrypt.
-     *
-     * @return экземпляр {@link BCryptPasswordEncoder}
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    // BCrypt в отдельном ограниченном пуле потоков, см. BoundedPasswordEncoder
+    private final PasswordEncoder passwordEncoder;
 
     /**
      * Создаёт бин для менеджера аутентификации.
@@ -62,13 +55,17 @@ public class SecurityConfig {
      * Отключает CSRF, включает CORS, отключает сессии, настраивает доступ к маршрутам
      * и добавляет JWT-фильтр.
      *
-     * @param jwtUtil утилита для парсинга, валидации и извлечения данных из JWT-токена
      * @param http билдер {@link HttpSecurity} для настройки параметров HTTP-безопасности
+     * @param jwtUtil утилита для парсинга, валидации и извлечения данных из JWT-токена
+     * @param userDetailsCache кэш пользователей для проверки версии токенов
+     * @param checkTokenVersion сверять ли версию токенов пользователя ({@code spring.security.jwt.revocation.enabled})
      * @return настроенная цепочка фильтров безопасности {@link SecurityFilterChain}
      * @throws Exception если цепочка фильтров не может быть построена
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, JwtUtil jwtUtil) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtUtil jwtUtil, UserDetailsCache userDetailsCache,
+                                           @Value("${spring.security.jwt.revocation.enabled:true}")
+                                           boolean checkTokenVersion) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
@@ -89,8 +86,7 @@ public class SecurityConfig {
                 .exceptionHandling(ex ->
                         ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .authenticationProvider(authenticationProvider())
-                //.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(jwtRequestFilter(myUserDetailsService, jwtUtil),
+                .addFilterBefore(jwtRequestFilter(myUserDetailsService, jwtUtil, userDetailsCache, checkTokenVersion),
                         UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
@@ -111,6 +107,7 @@ public class SecurityConfig {
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
 
         config.addExposedHeader("X-Total-Count");
+        config.addExposedHeader("X-Next-Cursor");
         source.registerCorsConfiguration("/**", config);
         return source;
     }
@@ -124,7 +121,7 @@ public class SecurityConfig {
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(myUserDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -154,19 +151,25 @@ public class SecurityConfig {
      * Регистрирует {@link JwtRequestFilter} как бин в контексте приложения.
      * <p>
      * Фильтр отвечает за перехват HTTP-запросов, извлечение JWT-токена из заголовка
-     * {@code Authorization} и аутентификацию пользователя через
-     * {@link MyUserDetailsService}. При успешной валидации токена в контекст безопасности
+     * {@code Authorization} и аутентификацию пользователя по утверждениям токена
+     * (или через {@link MyUserDetailsService} для токенов без них).
+     * При успешной валидации токена в контекст безопасности
      * устанавливается {@link org.springframework.security.authentication.UsernamePasswordAuthenticationToken}.
      *
      * @param userDetailsService сервис для загрузки данных пользователя по идентификатору из токена
      * @param jwtUtil утилита для парсинга, валидации и извлечения данных из JWT-токена
+     * @param userDetailsCache кэш пользователей для проверки версии токенов
+     * @param checkTokenVersion сверять ли версию токенов пользователя
      * @return настроенный экземпляр {@link JwtRequestFilter}, готовый к интеграции в
      *         {@link org.springframework.security.web.SecurityFilterChain}
      * @see org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter
      * @see io.jsonwebtoken.Jwts
      */
     @Bean
-    public JwtRequestFilter jwtRequestFilter(MyUserDetailsService userDetailsService, JwtUtil jwtUtil) {
-        return new JwtRequestFilter(userDetailsService, jwtUtil);
+    public JwtRequestFilter jwtRequestFilter(MyUserDetailsService userDetailsService, JwtUtil jwtUtil,
+                                             UserDetailsCache userDetailsCache,
+                                             @Value("${spring.security.jwt.revocation.enabled:true}")
+                                             boolean checkTokenVersion) {
+        return new JwtRequestFilter(userDetailsService, jwtUtil, userDetailsCache, checkTokenVersion);
     }
 }
@@ -0,0 +1,37 @@
+package hexlet.code.config;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Аутентифицированный пользователь приложения: данные Spring Security вместе с идентификатором пользователя
+ * и версией его токенов.
+ * При входе загружается из БД ({@link MyUserDetailsService}), а в остальных запросах восстанавливается
+ * из утверждений проверенного JWT ({@link JwtUtil#toPrincipal}) без обращения к БД.
+ */
+@Getter
+public final class UserPrincipal extends User {
+
+    private final Long id;
+
+    private final long tokenVersion;
+
+    /**
+     * Создаёт пользователя с идентификатором.
+     *
+     * @param id           идентификатор пользователя
+     * @param username     имя пользователя (email)
+     * @param password     хеш пароля (пустая строка для пользователя, восстановленного из токена)
+     * @param tokenVersion версия токенов пользователя ({@link hexlet.code.model.User#getTokenVersion()})
+     * @param authorities  права пользователя
+     */
+    public UserPrincipal(Long id, String username, String password, long tokenVersion,
+                         Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+        this.tokenVersion = tokenVersion;
+    }
+}
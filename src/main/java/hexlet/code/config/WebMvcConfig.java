@@ -0,0 +1,67 @@
+package hexlet.code.config;
+
+import hexlet.code.component.TableVersions;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.util.NamedRoutes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Конфигурация Spring MVC.
+ * Подключает условные GET-запросы ({@link CollectionETagInterceptor}) к спискам задач, статусов, меток
+ * и пользователей. Список задач зависит и от статусов, так как в задачах отдаётся slug статуса.
+ * Хешированные файлы сборки SPA ({@code /assets/**}) отдаются с долгим неизменяемым кэшированием.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    // имя файла сборки содержит хеш содержимого, поэтому по одному URL всегда лежит одно и то же
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final TableVersions tableVersions;
+
+    /**
+     * Регистрирует перехватчики условных запросов для эндпоинтов списков.
+     *
+     * @param registry реестр перехватчиков
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CollectionETagInterceptor(tableVersions, Task.class, TaskStatus.class))
+                .addPathPatterns(NamedRoutes.TASKS);
+        registry.addInterceptor(new CollectionETagInterceptor(tableVersions, TaskStatus.class))
+                .addPathPatterns(NamedRoutes.TASK_STATUSES);
+        registry.addInterceptor(new CollectionETagInterceptor(tableVersions, Label.class))
+                .addPathPatterns(NamedRoutes.LABELS);
+        registry.addInterceptor(new CollectionETagInterceptor(tableVersions, User.class))
+                .addPathPatterns(NamedRoutes.USERS);
+    }
+
+    /**
+     * Регистрирует обработчик хешированных файлов сборки SPA с заголовком
+     * {@code Cache-Control: public, max-age=31536000, immutable}.
+     * Заранее сжатые варианты ({@code .br}, {@code .gz}, см. задачу {@code compressStaticAssets} в сборке)
+     * выбираются по заголовку Accept-Encoding; разрешённые пути кэшируются в памяти.
+     *
+     * @param registry реестр обработчиков статических ресурсов
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(IMMUTABLE)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+}
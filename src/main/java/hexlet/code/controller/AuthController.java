@@ -2,7 +2,6 @@ package hexlet.code.controller;
 
 import hexlet.code.config.AuthRequest;
 import hexlet.code.config.JwtUtil;
-import hexlet.code.config.MyUserDetailsService;
 import hexlet.code.util.NamedRoutes;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +9,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -28,12 +28,12 @@ public final class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final MyUserDetailsService userDetailsService;
 
     /**
      * Обрабатывает POST-запрос на аутентификацию пользователя.
      * Принимает имя пользователя (email) и пароль, проверяет их,
      * и если данные верны, генерирует и возвращает JWT-токен.
+     * Токен выпускается для пользователя, загруженного при аутентификации, без повторного поиска.
      *
      * @param authRequest объект {@link AuthRequest}, содержащий имя пользователя и пароль
      * @return JWT-токен в виде строки, если аутентификация прошла успешно
@@ -41,9 +41,10 @@ public final class AuthController {
      */
     @PostMapping(NamedRoutes.LOGIN)
     public String login(@Valid @RequestBody AuthRequest authRequest) {
+        final Authentication authentication;
         try {
             // Пытаемся аутентифицировать пользователя с помощью AuthenticationManager
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             authRequest.getUsername(),
                             authRequest.getPassword()
@@ -55,8 +56,8 @@ public final class AuthController {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
         }
 
-        // Если аутентификация прошла успешно, загружаем детали пользователя
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(authRequest.getUsername());
+        // Если аутентификация прошла успешно, берём пользователя, загруженного при аутентификации
+        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
         // Генерируем JWT-токен для аутентифицированного пользователя
         final String jwt = jwtUtil.generateToken(userDetails);
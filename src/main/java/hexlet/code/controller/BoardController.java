@@ -0,0 +1,39 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.Board.BoardColumnDTO;
+import hexlet.code.service.BoardService;
+import hexlet.code.util.NamedRoutes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+
+/**
+ * Контроллер канбан-доски.
+ * Отдаёт все статусы задач вместе с первыми задачами каждого статуса за один HTTP-запрос
+ * вместо отдельных запросов списка статусов и задач каждой колонки.
+ */
+@RestController
+@RequestMapping(NamedRoutes.BOARD)
+@RequiredArgsConstructor
+public final class BoardController {
+
+    private final BoardService boardService;
+
+    /**
+     * Обрабатывает GET-запрос на получение доски.
+     *
+     * @param limit количество задач в каждой колонке (по умолчанию {@code app.board.default-limit})
+     * @return список колонок {@link BoardColumnDTO}: статус, его первые задачи по {@code index}
+     * и общее количество задач статуса
+     */
+    @GetMapping("")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BoardColumnDTO> index(@RequestParam(required = false) Integer limit) {
+        return boardService.getColumns(limit);
+    }
+}
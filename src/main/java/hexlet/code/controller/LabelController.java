@@ -1,5 +1,6 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.Pagination;
 import hexlet.code.dto.Label.LabelCreateDTO;
 import hexlet.code.dto.Label.LabelDTO;
 import hexlet.code.dto.Label.LabelUpdateDTO;
@@ -7,6 +8,7 @@ import hexlet.code.service.LabelService;
 import hexlet.code.util.NamedRoutes;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.GetMapping;
 import java.util.List;
 
@@ -31,19 +34,29 @@ import java.util.List;
 public class LabelController {
 
     private final LabelService labelService;
+    private final Pagination pagination;
 
     /**
-     * Обрабатывает GET-запрос на получение списка всех меток.
-     * Возвращает список DTO меток и заголовок X-Total-Count.
+     * Обрабатывает GET-запрос на получение списка меток.
+     * Поддерживает постраничный вывод в стиле react-admin ({@code _start}/{@code _end})
+     * и в стиле {@code page}/{@code size}; без параметров возвращает все метки.
+     * Возвращает список DTO меток и заголовок X-Total-Count с общим количеством меток.
      *
+     * @param start смещение первой записи (react-admin {@code _start})
+     * @param end   смещение записи после последней (react-admin {@code _end})
+     * @param page  номер страницы с нуля
+     * @param size  размер страницы
      * @return {@link ResponseEntity} с HTTP статусом 200 OK и телом, содержащим список {@link LabelDTO}
      */
     @GetMapping("")
-    public ResponseEntity<List<LabelDTO>> index() {
-        var labels = labelService.getAll();
+    public ResponseEntity<List<LabelDTO>> index(@RequestParam(name = "_start", required = false) Integer start,
+                                                @RequestParam(name = "_end", required = false) Integer end,
+                                                @RequestParam(required = false) Integer page,
+                                                @RequestParam(required = false) Integer size) {
+        var labels = labelService.getAll(pagination.resolve(start, end, page, size, Sort.by("id")));
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(labels.size()))
-                .body(labels);
+                .header("X-Total-Count", String.valueOf(labels.getTotalElements()))
+                .body(labels.getContent());
     }
 
     /**
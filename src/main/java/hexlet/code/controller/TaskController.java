@@ -1,15 +1,33 @@
 package hexlet.code.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hexlet.code.component.Pagination;
+import hexlet.code.dto.CursorParamsDTO;
+import hexlet.code.dto.LabelMatch;
+import hexlet.code.dto.Task.TaskBulkResultDTO;
+import hexlet.code.dto.Task.TaskCountsDTO;
 import hexlet.code.dto.Task.TaskCreateDTO;
 import hexlet.code.dto.Task.TaskDTO;
+import hexlet.code.dto.Task.TaskExportFormat;
+import hexlet.code.dto.Task.TaskField;
+import hexlet.code.dto.Task.TaskStatsDTO;
 import hexlet.code.dto.Task.TaskUpdateDTO;
 import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.service.TaskExportService;
 import hexlet.code.service.TaskService;
+import hexlet.code.util.ETags;
 import hexlet.code.util.NamedRoutes;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,9 +35,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Контроллер для управления задачами ({@link hexlet.code.model.Task}).
@@ -31,34 +57,190 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TaskController {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final TaskService taskService;
+    private final Pagination pagination;
+    private final ObjectMapper objectMapper;
+    private final TaskExportService taskExportService;
+
+    /**
+     * Режим совместимости со встроенной React-админкой: если курсор и лимит не переданы,
+     * возвращается полный список задач, как и раньше.
+     */
+    @Value("${app.tasks.pagination.unpaged-by-default:true}")
+    private boolean unpagedByDefault;
 
     /**
      * Обрабатывает GET-запрос на получение списка задач.
      * Поддерживает фильтрацию задач через параметры {@code params}.
-     * Возвращает список DTO задач и заголовок X-Total-Count.
+     * Если передан курсор {@code after} или лимит {@code limit} ({@code cursor}), используется keyset-пагинация:
+     * курсор следующей страницы возвращается в заголовке X-Next-Cursor.
+     * Если переданы {@code _start}/{@code _end} или {@code page}/{@code size}, используется
+     * постраничный вывод по смещению с заголовком X-Total-Count, посчитанным отдельным COUNT-запросом
+     * (или оценённым по статистике СУБД при {@code count=estimated}).
+     * Без параметров пагинации возвращается полный список задач, пока включён режим совместимости,
+     * иначе — первая страница keyset-пагинации.
+     * Параметр {@code fields} (например, {@code fields=id,title,status,assignee_id}) ограничивает
+     * и столбцы, читаемые из БД, и поля в JSON ответа.
      *
-     * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
+     * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации и список полей (может быть пустым)
+     * @param cursor объект {@link CursorParamsDTO} с курсором из заголовка X-Next-Cursor и лимитом страницы
+     * @param start  смещение первой задачи (react-admin {@code _start})
+     * @param end    смещение задачи после последней (react-admin {@code _end})
+     * @param page   номер страницы с нуля
+     * @param size   размер страницы
+     * @param count  режим подсчёта X-Total-Count: {@code exact} (по умолчанию) или {@code estimated}
      * @return {@link ResponseEntity} с HTTP статусом 200 OK и телом, содержащим список {@link TaskDTO}
      */
     @GetMapping("")
-    public ResponseEntity<List<TaskDTO>> index(TaskParamsDTO params) {
-        var tasks = taskService.getAll(params);
+    public ResponseEntity<MappingJacksonValue> index(TaskParamsDTO params,
+                                               CursorParamsDTO cursor,
+                                               @RequestParam(name = "_start", required = false) Integer start,
+                                               @RequestParam(name = "_end", required = false) Integer end,
+                                               @RequestParam(required = false) Integer page,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam(defaultValue = "exact") String count) {
+        var fields = TaskField.of(params.getFields());
+        var pageable = pagination.resolve(start, end, page, size, Sort.by("createdAt", "id"));
+
+        var cursorRequested = cursor.getAfter() != null || cursor.getLimit() != null;
+        if (cursorRequested || pageable.isUnpaged() && !unpagedByDefault) {
+            var cursorPage = taskService.getPage(params, cursor.getAfter(), cursor.getLimit());
+            var response = ResponseEntity.ok();
+            if (cursorPage.getNextCursor() != null) {
+                response.header("X-Next-Cursor", cursorPage.getNextCursor());
+            }
+            return response.body(withFields(cursorPage.getContent(), fields));
+        }
+
+        var tasks = taskService.getAll(params, pageable, "estimated".equals(count));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(tasks.getTotalElements()))
+                .body(withFields(tasks.getContent(), fields));
+    }
+
+    /**
+     * Обрабатывает GET-запрос на получение всех задач в потоковом режиме ({@code stream=true}).
+     * JSON-массив пишется в ответ потоковым генератором Jackson по мере чтения строк из БД,
+     * поэтому список целиком не собирается ни в памяти приложения, ни в буфере ответа.
+     * Строки читаются через отдельный пул соединений выгрузки, поэтому медленные клиенты
+     * не исчерпывают основной пул. Фильтры и параметр {@code fields} те же, что и у {@link #index};
+     * пагинация и X-Total-Count не поддерживаются.
+     *
+     * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
+     * @return {@link ResponseEntity} с телом, которое записывается асинхронно
+     */
+    @GetMapping(value = "", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> stream(TaskParamsDTO params) {
+        // параметры проверяются до начала асинхронной записи, пока ещё можно ответить 400
+        LabelMatch.of(params.getLabelMatch());
+        var fields = TaskField.of(params.getFields());
+        var allFieldsWriter = objectMapper.writerFor(TaskDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        var writer = fields == TaskField.ALL ? allFieldsWriter : allFieldsWriter.with(TaskField.filter(fields));
+        StreamingResponseBody body = out -> {
+            try (var generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                taskService.forEach(params, task -> {
+                    try {
+                        writer.writeValue(generator, task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(tasks.size()))
-                .body(tasks);
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Обрабатывает GET-запрос на выгрузку задач в файл NDJSON или CSV.
+     * Фильтры те же, что и у {@link #index}. Выгрузка читается курсором через отдельный пул соединений
+     * и пишется в ответ по мере чтения; если клиент принимает {@code gzip} (заголовок Accept-Encoding),
+     * ответ сжимается на лету.
+     *
+     * @param params         объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
+     * @param format         формат выгрузки: {@code ndjson} (по умолчанию) или {@code csv}
+     * @param acceptEncoding значение заголовка Accept-Encoding
+     * @return {@link ResponseEntity} с телом, которое записывается асинхронно
+     */
+    @GetMapping(NamedRoutes.TASKS_EXPORT)
+    public ResponseEntity<StreamingResponseBody> export(TaskParamsDTO params,
+                                                        @RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING,
+                                                                required = false) String acceptEncoding) {
+        var exportFormat = TaskExportFormat.of(format);
+        LabelMatch.of(params.getLabelMatch());
+        var gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (var gzipOut = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE)) {
+                    taskExportService.export(params, exportFormat, gzipOut);
+                }
+            } else {
+                taskExportService.export(params, exportFormat, out);
+            }
+        };
+
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Обрабатывает GET-запрос на получение статистики по задачам: общего количества
+     * и количеств в разрезе статусов, исполнителей и меток.
+     * Фильтры те же, что и у {@link #index}.
+     *
+     * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
+     * @return агрегированная статистика {@link TaskStatsDTO}
+     */
+    @GetMapping(NamedRoutes.TASKS_STATS)
+    @ResponseStatus(HttpStatus.OK)
+    public TaskStatsDTO stats(TaskParamsDTO params) {
+        return taskService.getStats(params);
+    }
+
+    /**
+     * Обрабатывает GET-запрос на получение количества задач всего, по статусам и по исполнителям.
+     * В отличие от {@link #stats}, фильтры не поддерживаются, а значения берутся из счётчиков в памяти,
+     * поэтому эндпоинт можно часто опрашивать без нагрузки на БД.
+     *
+     * @return количества задач {@link TaskCountsDTO}
+     */
+    @GetMapping(NamedRoutes.TASKS_COUNTS)
+    @ResponseStatus(HttpStatus.OK)
+    public TaskCountsDTO counts() {
+        return taskService.getCounts();
     }
 
     /**
      * Обрабатывает GET-запрос на получение задачи по её идентификатору.
+     * Ответ содержит сильный ETag; если он совпадает с {@code If-None-Match}, возвращается
+     * 304 Not Modified без маппинга и сериализации задачи.
      *
-     * @param id идентификатор задачи
-     * @return DTO найденной задачи {@link TaskDTO}
+     * @param id      идентификатор задачи
+     * @param request текущий запрос (для проверки {@code If-None-Match})
+     * @return DTO найденной задачи {@link TaskDTO} или пустой ответ 304
      */
     @GetMapping(NamedRoutes.TASK_ID)
-    @ResponseStatus(HttpStatus.OK)
-    public TaskDTO show(@PathVariable Long id) {
-        return taskService.findById(id);
+    public ResponseEntity<TaskDTO> show(@PathVariable Long id, WebRequest request) {
+        var task = taskService.findById(id, request::checkNotModified);
+        var status = task == null ? HttpStatus.NOT_MODIFIED : HttpStatus.OK;
+        return ResponseEntity.status(status).cacheControl(ETags.REVALIDATE).body(task);
     }
 
     /**
@@ -74,28 +256,59 @@ public class TaskController {
         return taskService.create(taskData);
     }
 
+    /**
+     * Обрабатывает POST-запрос на создание задач пачкой.
+     * Все элементы проверяются до вставки; корректные задачи создаются в одной транзакции,
+     * для некорректных возвращаются ошибки. Ответ содержит результат по каждому элементу
+     * в исходном порядке.
+     *
+     * @param tasksData список DTO {@link TaskCreateDTO} с данными новых задач
+     * @return список результатов {@link TaskBulkResultDTO}
+     */
+    @PostMapping(NamedRoutes.TASKS_BULK)
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskBulkResultDTO> createAll(@RequestBody List<TaskCreateDTO> tasksData) {
+        return taskService.createAll(tasksData);
+    }
+
     /**
      * Обрабатывает PUT-запрос на обновление существующей задачи.
      * Принимает DTO с новыми данными и идентификатор задачи.
+     * Если передан заголовок If-Match, задача обновляется только при совпадении версии (иначе 412).
+     * Новая версия возвращается в заголовке ETag.
      *
      * @param taskData DTO {@link TaskUpdateDTO} с новыми данными задачи
      * @param id       идентификатор обновляемой задачи
+     * @param ifMatch  значение заголовка If-Match (ETag задачи, на основе которой сделано изменение)
      * @return DTO обновлённой задачи {@link TaskDTO}
      */
     @PutMapping(NamedRoutes.TASK_ID)
-    @ResponseStatus(HttpStatus.OK)
-    public TaskDTO update(@Valid @RequestBody TaskUpdateDTO taskData, @PathVariable Long id) {
-        return taskService.update(taskData, id);
+    public ResponseEntity<TaskDTO> update(@Valid @RequestBody TaskUpdateDTO taskData, @PathVariable Long id,
+                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                          String ifMatch) {
+        var task = taskService.update(taskData, id, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(task.getId(), task.getVersion(), task.getStatusVersion())).body(task);
     }
 
     /**
      * Обрабатывает DELETE-запрос на удаление задачи по её идентификатору.
+     * Если передан заголовок If-Match, задача удаляется только при совпадении версии (иначе 412).
      *
-     * @param id идентификатор удаляемой задачи
+     * @param id      идентификатор удаляемой задачи
+     * @param ifMatch значение заголовка If-Match
      */
     @DeleteMapping(NamedRoutes.TASK_ID)
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void destroy(@PathVariable Long id) {
-        taskService.delete(id);
+    public void destroy(@PathVariable Long id,
+                        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.delete(id, ifMatch);
+    }
+
+    private static MappingJacksonValue withFields(List<TaskDTO> tasks, Set<TaskField> fields) {
+        var body = new MappingJacksonValue(tasks);
+        if (fields != TaskField.ALL) {
+            body.setFilters(TaskField.filter(fields));
+        }
+        return body;
     }
 }
@@ -1,12 +1,16 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.Pagination;
 import hexlet.code.dto.TaskStatus.TaskStatusCreateDTO;
 import hexlet.code.dto.TaskStatus.TaskStatusDTO;
 import hexlet.code.dto.TaskStatus.TaskStatusUpdateDTO;
 import hexlet.code.service.TaskStatusService;
+import hexlet.code.util.ETags;
 import hexlet.code.util.NamedRoutes;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,9 +19,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 /**
@@ -31,31 +38,47 @@ import java.util.List;
 public final class TaskStatusController {
 
     private final TaskStatusService taskStatusService;
+    private final Pagination pagination;
 
     /**
-     * Обрабатывает GET-запрос на получение списка всех статусов задач.
-     * Возвращает список DTO статусов и заголовок X-Total-Count.
+     * Обрабатывает GET-запрос на получение списка статусов задач.
+     * Поддерживает постраничный вывод в стиле react-admin ({@code _start}/{@code _end})
+     * и в стиле {@code page}/{@code size}; без параметров возвращает все статусы.
+     * Возвращает список DTO статусов и заголовок X-Total-Count с общим количеством статусов.
      *
+     * @param start смещение первой записи (react-admin {@code _start})
+     * @param end   смещение записи после последней (react-admin {@code _end})
+     * @param page  номер страницы с нуля
+     * @param size  размер страницы
      * @return {@link ResponseEntity} с HTTP статусом 200 OK и телом, содержащим список {@link TaskStatusDTO}
      */
     @GetMapping("")
-    public ResponseEntity<List<TaskStatusDTO>> index() {
-        List<TaskStatusDTO> statuses = taskStatusService.getAll();
+    public ResponseEntity<List<TaskStatusDTO>> index(@RequestParam(name = "_start", required = false) Integer start,
+                                                     @RequestParam(name = "_end", required = false) Integer end,
+                                                     @RequestParam(required = false) Integer page,
+                                                     @RequestParam(required = false) Integer size) {
+        var statuses = taskStatusService.getAll(pagination.resolve(start, end, page, size, Sort.by("id")));
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(statuses.size()))
-                .body(statuses);
+                .header("X-Total-Count", String.valueOf(statuses.getTotalElements()))
+                .body(statuses.getContent());
     }
 
     /**
      * Обрабатывает GET-запрос на получение статуса задачи по его идентификатору.
+     * Версия статуса возвращается в заголовке ETag; при совпадении с If-None-Match ответ — 304.
      *
-     * @param id идентификатор статуса задачи
-     * @return DTO найденного статуса задачи {@link TaskStatusDTO}
+     * @param id      идентификатор статуса задачи
+     * @param request текущий запрос (для проверки {@code If-None-Match})
+     * @return DTO найденного статуса задачи {@link TaskStatusDTO} или пустой ответ 304
      */
     @GetMapping(NamedRoutes.TASK_STATUS_ID)
-    @ResponseStatus(HttpStatus.OK)
-    public TaskStatusDTO show(@PathVariable Long id) {
-        return taskStatusService.findById(id);
+    public ResponseEntity<TaskStatusDTO> show(@PathVariable Long id, WebRequest request) {
+        var status = taskStatusService.findById(id);
+        var etag = ETags.of(status.getId(), status.getVersion());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ETags.REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(ETags.REVALIDATE).eTag(etag).body(status);
     }
 
     /**
@@ -74,27 +97,35 @@ public final class TaskStatusController {
     /**
      * Обрабатывает PUT-запрос на обновление существующего статуса задачи.
      * Принимает DTO с новыми данными и идентификатор статуса.
+     * Если передан заголовок If-Match, статус обновляется только при совпадении версии (иначе 412).
+     * Новая версия возвращается в заголовке ETag.
      *
      * @param statusData DTO {@link TaskStatusUpdateDTO} с новыми данными статуса задачи
      * @param id         идентификатор обновляемого статуса задачи
+     * @param ifMatch    значение заголовка If-Match
      * @return DTO обновлённого статуса задачи {@link TaskStatusDTO}
      */
     @PutMapping(NamedRoutes.TASK_STATUS_ID)
-    @ResponseStatus(HttpStatus.OK)
-    public TaskStatusDTO update(@Valid @RequestBody TaskStatusUpdateDTO statusData,
-                                @PathVariable Long id) {
-        return taskStatusService.update(statusData, id);
+    public ResponseEntity<TaskStatusDTO> update(@Valid @RequestBody TaskStatusUpdateDTO statusData,
+                                                @PathVariable Long id,
+                                                @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                                String ifMatch) {
+        var status = taskStatusService.update(statusData, id, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(status.getId(), status.getVersion())).body(status);
     }
 
     /**
      * Обрабатывает DELETE-запрос на удаление статуса задачи по его идентификатору.
+     * Если передан заголовок If-Match, статус удаляется только при совпадении версии (иначе 412).
      *
-     * @param id идентификатор удаляемого статуса задачи
+     * @param id      идентификатор удаляемого статуса задачи
+     * @param ifMatch значение заголовка If-Match
      */
     @DeleteMapping(NamedRoutes.TASK_STATUS_ID)
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void destroy(@PathVariable Long id) {
-        taskStatusService.delete(id);
+    public void destroy(@PathVariable Long id,
+                        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskStatusService.delete(id, ifMatch);
     }
 
     /**
@@ -1,12 +1,16 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.Pagination;
 import hexlet.code.dto.User.UserCreateDTO;
 import hexlet.code.dto.User.UserDTO;
 import hexlet.code.dto.User.UserUpdateDTO;
 import hexlet.code.service.UserService;
+import hexlet.code.util.ETags;
 import hexlet.code.util.NamedRoutes;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,9 +20,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 /**
@@ -33,33 +40,47 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final Pagination pagination;
 
     /**
-     * Обрабатывает GET-запрос на получение списка всех пользователей.
-     * Возвращает список DTO пользователей и заголовок X-Total-Count.
+     * Обрабатывает GET-запрос на получение списка пользователей.
+     * Поддерживает постраничный вывод в стиле react-admin ({@code _start}/{@code _end})
+     * и в стиле {@code page}/{@code size}; без параметров возвращает всех пользователей.
+     * Возвращает список DTO пользователей и заголовок X-Total-Count с общим количеством пользователей.
      * Этот маршрут, вероятно, доступен всем.
      *
+     * @param start смещение первой записи (react-admin {@code _start})
+     * @param end   смещение записи после последней (react-admin {@code _end})
+     * @param page  номер страницы с нуля
+     * @param size  размер страницы
      * @return {@link ResponseEntity} с HTTP статусом 200 OK и телом, содержащим список {@link UserDTO}
      */
     @GetMapping("")
-    public ResponseEntity<List<UserDTO>> index() {
-        List<UserDTO> users = userService.getAll();
+    public ResponseEntity<List<UserDTO>> index(@RequestParam(name = "_start", required = false) Integer start,
+                                               @RequestParam(name = "_end", required = false) Integer end,
+                                               @RequestParam(required = false) Integer page,
+                                               @RequestParam(required = false) Integer size) {
+        var users = userService.getAll(pagination.resolve(start, end, page, size, Sort.by("id")));
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(users.size()))
-                .body(users);
+                .header("X-Total-Count", String.valueOf(users.getTotalElements()))
+                .body(users.getContent());
     }
 
     /**
      * Обрабатывает GET-запрос на получение пользователя по его идентификатору.
      * Этот маршрут, вероятно, доступен всем.
+     * Версия пользователя возвращается в заголовке ETag; при совпадении с If-None-Match ответ — 304,
+     * и пользователь не преобразуется в DTO.
      *
-     * @param id идентификатор пользователя
-     * @return DTO найденного пользователя {@link UserDTO}
+     * @param id      идентификатор пользователя
+     * @param request текущий запрос (для проверки {@code If-None-Match})
+     * @return DTO найденного пользователя {@link UserDTO} или пустой ответ 304
      */
     @GetMapping(NamedRoutes.USER_ID)
-    @ResponseStatus(HttpStatus.OK)
-    public UserDTO show(@PathVariable Long id) {
-        return userService.findById(id);
+    public ResponseEntity<UserDTO> show(@PathVariable Long id, WebRequest request) {
+        var user = userService.findById(id, request::checkNotModified);
+        var status = user == null ? HttpStatus.NOT_MODIFIED : HttpStatus.OK;
+        return ResponseEntity.status(status).cacheControl(ETags.REVALIDATE).body(user);
     }
 
     /**
@@ -79,32 +100,43 @@ public class UserController {
     /**
      * Обрабатывает PUT-запрос на обновление существующего пользователя.
      * Требует аутентификации. Пользователь может обновлять только свои данные.
+     * Право проверяется {@link hexlet.code.component.Authorizer#isSelf} по идентификатору из токена без запроса к БД;
+     * для чужого или несуществующего идентификатора возвращается 403.
      * Принимает DTO с новыми данными и идентификатор пользователя.
      * Примечание: В текущей реализации {@code currentUser} не используется в вызове сервиса.
+     * Если передан заголовок If-Match, пользователь обновляется только при совпадении версии (иначе 412).
+     * Новая версия возвращается в заголовке ETag.
      *
      * @param userData    DTO {@link UserUpdateDTO} с новыми данными пользователя
      * @param id          идентификатор обновляемого пользователя
+     * @param ifMatch     значение заголовка If-Match
      * @return DTO обновлённого пользователя {@link UserDTO}
      */
     @PutMapping(NamedRoutes.USER_ID)
-    @ResponseStatus(HttpStatus.OK)
-    @PreAuthorize("@userRepository.findById(#id).get().getEmail() == authentication.name")
-    public UserDTO update(@Valid @RequestBody UserUpdateDTO userData,
-                          @PathVariable Long id) {
+    @PreAuthorize("@authorizer.isSelf(#id)")
+    public ResponseEntity<UserDTO> update(@Valid @RequestBody UserUpdateDTO userData,
+                                          @PathVariable Long id,
+                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                          String ifMatch) {
 
-        return userService.update(userData, id);
+        var user = userService.update(userData, id, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(user.getId(), user.getVersion())).body(user);
     }
 
     /**
      * Обрабатывает DELETE-запрос на удаление пользователя по его идентификатору.
      * Требует аутентификации. Пользователь может удалять только свой аккаунт.
+     * Право проверяется так же, как при обновлении.
      * Примечание: В текущей реализации {@code currentUser} не используется в вызове сервиса.
+     * Если передан заголовок If-Match, пользователь удаляется только при совпадении версии (иначе 412).
      * @param id          идентификатор удаляемого пользователя
+     * @param ifMatch     значение заголовка If-Match
      */
     @DeleteMapping(NamedRoutes.USER_ID)
-    @PreAuthorize("@userRepository.findById(#id).get().getEmail() == authentication.name")
+    @PreAuthorize("@authorizer.isSelf(#id)")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void destroy(@PathVariable Long id) {
-        userService.delete(id);
+    public void destroy(@PathVariable Long id,
+                        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        userService.delete(id, ifMatch);
     }
 }
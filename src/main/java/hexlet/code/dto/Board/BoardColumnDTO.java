@@ -0,0 +1,17 @@
+package hexlet.code.dto.Board;
+
+import hexlet.code.dto.Task.TaskDTO;
+import hexlet.code.dto.TaskStatus.TaskStatusDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class BoardColumnDTO {
+    private TaskStatusDTO status;
+    private long total;
+    private List<TaskDTO> tasks = new ArrayList<>();
+}
@@ -0,0 +1,11 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class CursorParamsDTO {
+    private String after;
+    private Integer limit;
+}
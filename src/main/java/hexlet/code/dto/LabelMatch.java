@@ -0,0 +1,22 @@
+package hexlet.code.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+
+public enum LabelMatch {
+    ANY,
+    ALL;
+
+    public static LabelMatch of(String value) {
+        if (value == null) {
+            return ANY;
+        }
+        return Arrays.stream(values())
+                .filter(match -> match.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unsupported labelMatch: " + value));
+    }
+}
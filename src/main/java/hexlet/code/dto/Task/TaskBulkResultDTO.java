@@ -0,0 +1,14 @@
+package hexlet.code.dto.Task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class TaskBulkResultDTO {
+    private int index;
+    private TaskDTO task;
+    private List<String> errors;
+}
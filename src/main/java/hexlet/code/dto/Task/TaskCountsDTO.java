@@ -0,0 +1,16 @@
+package hexlet.code.dto.Task;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Getter
+@Setter
+public class TaskCountsDTO {
+    private long total;
+    private Map<Long, Long> byStatus = new TreeMap<>();
+    private Map<Long, Long> byAssignee = new TreeMap<>();
+    private long unassigned;
+}
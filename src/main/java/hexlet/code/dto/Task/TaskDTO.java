@@ -1,17 +1,26 @@
 package hexlet.code.dto.Task;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.Set;
 
 @Getter
 @Setter
+@NoArgsConstructor
 @EqualsAndHashCode
+@JsonFilter(TaskDTO.FIELDS_FILTER)
 public class TaskDTO {
+    // по умолчанию фильтр пропускает все поля, см. JacksonConfig и TaskField
+    public static final String FIELDS_FILTER = "taskFields";
+
     private Long id;
     private Long index;
     private String title;
@@ -22,4 +31,25 @@ public class TaskDTO {
     @JsonProperty("taskLabelIds")
     private Set<Long> labelIds;
     private Instant createdAt;
+    // версия передаётся клиенту в заголовке ETag, а не в теле
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
+    // slug статуса входит в тело, поэтому версия статуса тоже входит в ETag задачи
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long statusVersion;
+
+    // Конструктор для проекций, читающих строки задач напрямую; метки дозаполняются отдельным запросом
+    public TaskDTO(Long id, Long index, String title, String content, String status, Long assigneeId,
+                   Instant createdAt) {
+        this.id = id;
+        this.index = index;
+        this.title = title;
+        this.content = content;
+        this.status = status;
+        this.assigneeId = assigneeId;
+        this.createdAt = createdAt;
+        this.labelIds = new HashSet<>();
+    }
 }
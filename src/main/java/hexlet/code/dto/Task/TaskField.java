@@ -0,0 +1,73 @@
+package hexlet.code.dto.Task;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Поля {@link TaskDTO}, которые можно запросить параметром {@code fields} списка задач.
+ * Имена совпадают с именами свойств в JSON.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskField {
+    ID("id"),
+    INDEX("index"),
+    TITLE("title"),
+    CONTENT("content"),
+    STATUS("status"),
+    ASSIGNEE_ID("assignee_id"),
+    TASK_LABEL_IDS("taskLabelIds"),
+    CREATED_AT("createdAt");
+
+    public static final Set<TaskField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TaskField.class));
+
+    private final String jsonName;
+
+    /**
+     * Разбирает значение параметра {@code fields}: имена полей JSON через запятую.
+     *
+     * @param value значение параметра или null
+     * @return запрошенные поля; все поля, если параметр не передан
+     * @throws ResponseStatusException с кодом 400 (BAD_REQUEST), если поле неизвестно
+     */
+    public static Set<TaskField> of(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL;
+        }
+        var fields = EnumSet.noneOf(TaskField.class);
+        for (var name : value.split(",")) {
+            var trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                fields.add(Arrays.stream(values())
+                        .filter(field -> field.jsonName.equals(trimmed))
+                        .findFirst()
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Unsupported field: " + trimmed)));
+            }
+        }
+        return fields.isEmpty() ? ALL : fields;
+    }
+
+    /**
+     * Фильтр Jackson, который оставляет в JSON {@link TaskDTO} только запрошенные поля.
+     *
+     * @param fields запрошенные поля
+     * @return провайдер фильтров для {@link TaskDTO#FIELDS_FILTER}
+     */
+    public static FilterProvider filter(Set<TaskField> fields) {
+        var names = fields.stream().map(TaskField::getJsonName).collect(Collectors.toSet());
+        return new SimpleFilterProvider()
+                .addFilter(TaskDTO.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+}
@@ -0,0 +1,17 @@
+package hexlet.code.dto.Task;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+public class TaskStatsDTO {
+    private long total;
+    private Map<String, Long> byStatus = new LinkedHashMap<>();
+    private Map<Long, Long> byAssignee = new LinkedHashMap<>();
+    private long unassigned;
+    private Map<Long, Long> byLabel = new LinkedHashMap<>();
+}
@@ -3,6 +3,8 @@ package hexlet.code.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Setter
 @Getter
 public class TaskParamsDTO {
@@ -10,4 +12,7 @@ public class TaskParamsDTO {
     private Long assigneeId;
     private String status;
     private Long labelId;
+    private List<Long> labelIds;
+    private String labelMatch;
+    private String fields;
 }
@@ -1,5 +1,6 @@
 package hexlet.code.dto.TaskStatus;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,4 +15,7 @@ public class TaskStatusDTO {
     private String name;
     private String slug;
     private Instant createdAt;
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
@@ -1,5 +1,6 @@
 package hexlet.code.dto.User;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,4 +14,6 @@ public class UserDTO {
     private String lastName;
     private String email;
     private Instant createdAt;
+    @JsonIgnore
+    private Long version;
 }
@@ -1,6 +1,9 @@
 package hexlet.code.exception;
 
+import jakarta.persistence.OptimisticLockException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -94,6 +97,51 @@ public final class GlobalExceptionHandler {
                 .body(Map.of("error", ex.getMessage()));
     }
 
+    /**
+     * Обрабатывает исключение {@link PreconditionFailedException}.
+     * Возникает, когда версия ресурса из заголовка {@code If-Match} устарела.
+     * Возвращает ответ с кодом состояния HTTP 412 (PRECONDITION FAILED)
+     * и телом JSON, содержащим сообщение об ошибке из исключения.
+     *
+     * @param ex исключение {@link PreconditionFailedException}, возникшее в приложении
+     * @return {@link ResponseEntity} с HTTP статусом 412 и сообщением об ошибке
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, String>> handlePreconditionFailed(PreconditionFailedException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * Обрабатывает исключение {@link TooManyRequestsException}.
+     * Возникает, когда ограниченный ресурс сервера (например, пул хеширования паролей) перегружен.
+     * Возвращает ответ с кодом состояния HTTP 429 (TOO MANY REQUESTS) и заголовком {@code Retry-After}.
+     *
+     * @param ex исключение {@link TooManyRequestsException}, возникшее в приложении
+     * @return {@link ResponseEntity} с HTTP статусом 429 и сообщением об ошибке
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * Обрабатывает исключения оптимистической блокировки ({@link OptimisticLockingFailureException}
+     * и {@link OptimisticLockException}).
+     * Возникают, если сущность изменили в другой транзакции между её чтением и сохранением.
+     * Возвращает ответ с кодом состояния HTTP 409 (CONFLICT): клиент должен перечитать ресурс и повторить запрос.
+     *
+     * @param ex исключение оптимистической блокировки
+     * @return {@link ResponseEntity} с HTTP статусом 409 и сообщением об ошибке
+     */
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(Exception ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Resource was modified concurrently, reload it and retry"));
+    }
+
     /**
      * Обрабатывает исключение {@link ResponseStatusException}.
      * Возвращает ответ с кодом состояния и сообщением, указанными в исключении.
@@ -0,0 +1,21 @@
+package hexlet.code.model;
+
+/**
+ * Общие параметры выдачи первичных ключей сущностей из последовательностей.
+ * Hibernate резервирует сразу {@link #ALLOCATION_SIZE} идентификаторов за одно обращение
+ * к последовательности (оптимизатор pooled-lo), что позволяет отправлять INSERT пакетами JDBC.
+ * Значение должно совпадать с {@code INCREMENT BY} последовательностей в базе данных:
+ * при его изменении последовательности нужно перенастроить ({@code ALTER SEQUENCE ... INCREMENT BY}).
+ */
+public final class IdAllocation {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String TASKS_SEQUENCE = "tasks_seq";
+    public static final String USERS_SEQUENCE = "users_seq";
+    public static final String LABELS_SEQUENCE = "labels_seq";
+    public static final String TASK_STATUSES_SEQUENCE = "task_statuses_seq";
+
+    private IdAllocation() {
+    }
+}
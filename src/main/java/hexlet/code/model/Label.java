@@ -1,9 +1,11 @@
 package hexlet.code.model;
 
+import hexlet.code.component.TableVersionsListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.GeneratedValue;
 import jakarta.validation.constraints.Size;
@@ -14,13 +16,14 @@ import lombok.NoArgsConstructor;
 import lombok.EqualsAndHashCode;
 import jakarta.persistence.Id;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.Instant;
 
 /**
  * Сущность, представляющая метку (тег) для задач.
  * Сопоставляется с таблицей 'labels' в базе данных.
- * Поле createdAt автоматически заполняется с помощью AuditingEntityListener.
+ * Поля createdAt и updatedAt автоматически заполняются с помощью AuditingEntityListener.
  */
 @Entity
 @Table(name = "labels")
@@ -28,11 +31,13 @@ import java.time.Instant;
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, TableVersionsListener.class})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Label {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdAllocation.LABELS_SEQUENCE)
+    @SequenceGenerator(name = IdAllocation.LABELS_SEQUENCE, sequenceName = IdAllocation.LABELS_SEQUENCE,
+            allocationSize = IdAllocation.ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -42,4 +47,7 @@ public class Label {
 
     @CreatedDate
     private Instant createdAt;
+
+    @LastModifiedDate
+    private Instant updatedAt;
 }
@@ -0,0 +1,34 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Счётчик изменений таблицы, из которого строится слабый ETag списка.
+ * Сопоставляется с таблицей 'table_versions': по одной строке на таблицу сущности.
+ * Счётчик увеличивается в той же транзакции, что изменяет таблицу, и читается поиском по первичному ключу
+ * (см. {@link hexlet.code.component.TableVersions}).
+ */
+@Entity
+@Table(name = "table_versions")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class TableVersion {
+
+    @Id
+    @EqualsAndHashCode.Include
+    private String tableName;
+
+    @Column(nullable = false)
+    private Long version;
+}
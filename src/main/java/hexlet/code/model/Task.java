@@ -1,18 +1,23 @@
 package hexlet.code.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import hexlet.code.component.TableVersionsListener;
+import hexlet.code.component.TaskTitleIndexListener;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Setter;
@@ -21,6 +26,7 @@ import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.EqualsAndHashCode;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.Instant;
 import java.util.HashSet;
@@ -31,19 +37,25 @@ import java.util.Set;
  * Сопоставляется с таблицей 'tasks' в базе данных.
  * Имеет связи многие-к-одному с {@link TaskStatus} и {@link User},
  * а также многие-ко-многим с {@link Label}.
- * Поле createdAt автоматически заполняется с помощью AuditingEntityListener.
+ * Поля createdAt и updatedAt автоматически заполняются с помощью AuditingEntityListener.
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_status_id_index", columnList = "status_id, index, id"),
+        @Index(name = "idx_tasks_assignee_id", columnList = "assignee_id")
+})
 @Setter
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, TaskTitleIndexListener.class, TableVersionsListener.class})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdAllocation.TASKS_SEQUENCE)
+    @SequenceGenerator(name = IdAllocation.TASKS_SEQUENCE, sequenceName = IdAllocation.TASKS_SEQUENCE,
+            allocationSize = IdAllocation.ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -69,11 +81,19 @@ public class Task {
     @CreatedDate
     private Instant createdAt;
 
+    @LastModifiedDate
+    private Instant updatedAt;
+
+    @Version
+    private Long version;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "task_labels",
             joinColumns = @JoinColumn(name = "task_id"),
-            inverseJoinColumns = @JoinColumn(name = "label_id")
+            inverseJoinColumns = @JoinColumn(name = "label_id"),
+            // первичный ключ (task_id, label_id) не помогает искать задачи по метке
+            indexes = @Index(name = "idx_task_labels_label_id_task_id", columnList = "label_id, task_id")
     )
     private Set<Label> labels = new HashSet<>();
 }
@@ -1,5 +1,6 @@
 package hexlet.code.model;
 
+import hexlet.code.component.TableVersionsListener;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -7,19 +8,22 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.Setter;
 import lombok.Getter;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.EqualsAndHashCode;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.Instant;
 
 /**
  * Сущность, представляющая статус задачи.
  * Сопоставляется с таблицей 'task_statuses' в базе данных.
- * Поле createdAt автоматически заполняется с помощью AuditingEntityListener.
+ * Поля createdAt и updatedAt автоматически заполняются с помощью AuditingEntityListener.
  */
 @Entity
 @Table(name = "task_statuses")
@@ -27,11 +31,13 @@ import java.time.Instant;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, TableVersionsListener.class})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class TaskStatus {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdAllocation.TASK_STATUSES_SEQUENCE)
+    @SequenceGenerator(name = IdAllocation.TASK_STATUSES_SEQUENCE, sequenceName = IdAllocation.TASK_STATUSES_SEQUENCE,
+            allocationSize = IdAllocation.ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -43,4 +49,10 @@ public class TaskStatus {
 
     @CreatedDate
     Instant createdAt;
+
+    @LastModifiedDate
+    Instant updatedAt;
+
+    @Version
+    private Long version;
 }
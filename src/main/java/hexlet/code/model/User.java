@@ -1,12 +1,15 @@
 package hexlet.code.model;
 
+import hexlet.code.component.TableVersionsListener;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Column;
+import jakarta.persistence.Version;
 import lombok.Setter;
 import lombok.Getter;
 import lombok.AllArgsConstructor;
@@ -28,12 +31,14 @@ import java.time.Instant;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, TableVersionsListener.class})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdAllocation.USERS_SEQUENCE)
+    @SequenceGenerator(name = IdAllocation.USERS_SEQUENCE, sequenceName = IdAllocation.USERS_SEQUENCE,
+            allocationSize = IdAllocation.ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     Long id;
 
@@ -49,4 +54,10 @@ public class User {
 
     @LastModifiedDate
     Instant updatedAt;
+
+    @Version
+    Long version;
+
+    // Версия выданных токенов: увеличивается при смене пароля или email, токены с прежней версией отклоняются
+    Long tokenVersion = 0L;
 }
@@ -0,0 +1,100 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.Board.BoardColumnDTO;
+import hexlet.code.dto.Task.TaskDTO;
+import hexlet.code.dto.TaskStatus.TaskStatusDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Репозиторий канбан-доски: все статусы задач с первыми задачами каждого статуса.
+ * Доска читается одним SQL-запросом с оконными функциями вместо отдельного запроса на каждую колонку.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BoardRepository {
+
+    private static final String SELECT_BOARD = """
+            SELECT s.id AS status_id, s.name AS status_name, s.slug, s.created_at AS status_created_at,
+                   t.id, t.index, t.name, t.description, t.assignee_id, t.created_at, t.total
+            FROM task_statuses s
+            LEFT JOIN (
+                SELECT id, index, name, description, status_id, assignee_id, created_at,
+                       ROW_NUMBER() OVER (PARTITION BY status_id ORDER BY index NULLS LAST, id) AS rn,
+                       COUNT(*) OVER (PARTITION BY status_id) AS total
+                FROM tasks
+            ) t ON t.status_id = s.id AND t.rn <= :limit
+            ORDER BY s.id, t.rn
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Возвращает колонки доски в порядке создания статусов.
+     * В каждой колонке — не больше {@code limit} задач по возрастанию {@code index}
+     * (задачи без индекса в конце) и общее количество задач статуса.
+     * Нумерация и подсчёт внутри статуса выполняются оконными функциями
+     * {@code ROW_NUMBER()} и {@code COUNT(*)} с {@code PARTITION BY status_id},
+     * метки выбранных задач дочитываются вторым запросом.
+     *
+     * @param limit максимальное количество задач в колонке
+     * @return колонки доски, включая статусы без задач
+     */
+    public List<BoardColumnDTO> findColumns(int limit) {
+        Map<Long, BoardColumnDTO> columns = new LinkedHashMap<>();
+        Map<Long, TaskDTO> tasks = new HashMap<>();
+        jdbcTemplate.query(SELECT_BOARD, Map.of("limit", limit), rs -> {
+            var statusId = rs.getLong("status_id");
+            var column = columns.computeIfAbsent(statusId, id -> new BoardColumnDTO());
+            if (column.getStatus() == null) {
+                column.setStatus(mapStatus(rs));
+            }
+            var taskId = rs.getObject("id", Long.class);
+            if (taskId != null) {
+                var task = mapTask(rs, column.getStatus().getSlug());
+                column.setTotal(rs.getLong("total"));
+                column.getTasks().add(task);
+                tasks.put(taskId, task);
+            }
+        });
+
+        if (!tasks.isEmpty()) {
+            jdbcTemplate.query("SELECT task_id, label_id FROM task_labels WHERE task_id IN (:ids)",
+                    Map.of("ids", tasks.keySet()),
+                    rs -> {
+                        tasks.get(rs.getLong("task_id")).getLabelIds().add(rs.getLong("label_id"));
+                    });
+        }
+        return new ArrayList<>(columns.values());
+    }
+
+    private static TaskStatusDTO mapStatus(ResultSet rs) throws SQLException {
+        var status = new TaskStatusDTO();
+        var createdAt = rs.getTimestamp("status_created_at");
+        status.setId(rs.getLong("status_id"));
+        status.setName(rs.getString("status_name"));
+        status.setSlug(rs.getString("slug"));
+        status.setCreatedAt(createdAt == null ? null : createdAt.toInstant());
+        return status;
+    }
+
+    private static TaskDTO mapTask(ResultSet rs, String slug) throws SQLException {
+        var createdAt = rs.getTimestamp("created_at");
+        return new TaskDTO(
+                rs.getLong("id"),
+                rs.getObject("index", Long.class),
+                rs.getString("name"),
+                rs.getString("description"),
+                slug,
+                rs.getObject("assignee_id", Long.class),
+                createdAt == null ? null : createdAt.toInstant());
+    }
+}
@@ -0,0 +1,136 @@
+package hexlet.code.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hexlet.code.component.TaskSpecification;
+import hexlet.code.dto.Task.TaskDTO;
+import hexlet.code.dto.Task.TaskField;
+import hexlet.code.dto.TaskParamsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Repository;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Репозиторий для выгрузки задач большими объёмами.
+ * Работает через собственный небольшой пул соединений, отдельный от основного,
+ * поэтому долгие выгрузки и потоковые списки ({@code stream=true}) не занимают соединения,
+ * нужные обычным запросам API, даже если клиент читает ответ медленно.
+ * Запрос строится из той же {@link TaskSpecification} и той же проекции, что и список задач,
+ * и выполняется в {@link org.hibernate.StatelessSession} на соединении этого пула: строки читаются
+ * курсором на стороне сервера СУБД (JDBC fetch size внутри транзакции) без контекста персистентности.
+ */
+@Repository
+public class TaskExportRepository implements DisposableBean {
+
+    private static final Sort ORDER = Sort.by("createdAt", "id");
+
+    private final HikariDataSource dataSource;
+    private final SessionFactory sessionFactory;
+    private final TaskSpecification taskSpecification;
+    private final int fetchSize;
+
+    public TaskExportRepository(DataSourceProperties properties,
+                                EntityManagerFactory entityManagerFactory,
+                                TaskSpecification taskSpecification,
+                                @Value("${app.tasks.export.pool-size:2}") int poolSize,
+                                @Value("${app.tasks.export.fetch-size:1000}") int fetchSize) {
+        this.dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("export");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(0);
+        this.dataSource.setReadOnly(true);
+        this.dataSource.setAutoCommit(false);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.taskSpecification = taskSpecification;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Последовательно передаёт все задачи, удовлетворяющие фильтру, в {@code action} в порядке создания.
+     * Метки дозаполняются одним запросом на каждые {@code fetchSize} строк.
+     *
+     * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
+     * @param action обработчик очередной задачи
+     * @throws SQLException при ошибке работы с базой данных
+     */
+    public void forEach(TaskParamsDTO params, Consumer<TaskDTO> action) throws SQLException {
+        forEach(params, TaskField.ALL, action);
+    }
+
+    /**
+     * Последовательно передаёт задачи, удовлетворяющие фильтру, в {@code action} в порядке создания,
+     * читая только столбцы запрошенных полей. Метки запрашиваются, только если запрошено поле меток.
+     *
+     * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
+     * @param fields запрошенные поля; незапрошенные поля DTO равны null
+     * @param action обработчик очередной задачи
+     * @throws SQLException при ошибке работы с базой данных
+     */
+    public void forEach(TaskParamsDTO params, Set<TaskField> fields, Consumer<TaskDTO> action)
+            throws SQLException {
+        var columns = TaskRepositoryCustomImpl.columns(fields);
+        var withLabels = fields.contains(TaskField.TASK_LABEL_IDS);
+        try (var connection = dataSource.getConnection()) {
+            var namedJdbcTemplate = new NamedParameterJdbcTemplate(new SingleConnectionDataSource(connection, true));
+            var chunk = new ArrayList<TaskDTO>(fetchSize);
+            try (var session = sessionFactory.withStatelessOptions().connection(connection).openStatelessSession()) {
+                var query = TaskRepositoryCustomImpl.projection(
+                        session.getCriteriaBuilder(), taskSpecification.build(params), ORDER, columns);
+                try (var rows = session.createQuery(query).setFetchSize(fetchSize).scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (rows.next()) {
+                        chunk.add(TaskRepositoryCustomImpl.toDto(rows.get(), columns));
+                        if (chunk.size() == fetchSize) {
+                            flush(namedJdbcTemplate, chunk, withLabels, action);
+                        }
+                    }
+                }
+                flush(namedJdbcTemplate, chunk, withLabels, action);
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    /**
+     * Закрывает пул соединений выгрузки при остановке приложения.
+     */
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+
+    private static void flush(NamedParameterJdbcTemplate jdbcTemplate, List<TaskDTO> chunk, boolean withLabels,
+                              Consumer<TaskDTO> action) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (!withLabels) {
+            chunk.forEach(action);
+            chunk.clear();
+            return;
+        }
+        Map<Long, TaskDTO> byId = new HashMap<>();
+        chunk.forEach(task -> byId.put(task.getId(), task));
+        jdbcTemplate.query("SELECT task_id, label_id FROM task_labels WHERE task_id IN (:ids)",
+                Map.of("ids", new HashSet<>(byId.keySet())),
+                rs -> {
+                    byId.get(rs.getLong("task_id")).getLabelIds().add(rs.getLong("label_id"));
+                });
+        chunk.forEach(action);
+        chunk.clear();
+    }
+}
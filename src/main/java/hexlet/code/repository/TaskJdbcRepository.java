@@ -0,0 +1,115 @@
+package hexlet.code.repository;
+
+import hexlet.code.component.DatabaseInfo;
+import hexlet.code.model.IdAllocation;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Репозиторий для массовой вставки задач пакетами JDBC в обход Hibernate.
+ * Используется при создании задач большими партиями: вместо отдельного INSERT и обхода
+ * контекста персистентности на каждую задачу строки отправляются пакетами по {@code batchSize}.
+ * Должен вызываться внутри транзакции: JDBC-запросы выполняются на соединении текущей JPA-транзакции.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskJdbcRepository {
+
+    private static final String INSERT_TASK = "INSERT INTO tasks (id, name, index, description, status_id,"
+            + " assignee_id, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_TASK_LABEL = "INSERT INTO task_labels (task_id, label_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseInfo databaseInfo;
+
+    @Value("${app.tasks.bulk.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Вставляет задачи и их связи с метками пакетами JDBC.
+     * У задач должны быть заполнены статус и дата создания (она же дата изменения); исполнитель и метки необязательны
+     * (достаточно объектов с идентификаторами). Идентификаторы берутся из последовательности задач
+     * и записываются в задачи.
+     *
+     * @param tasks новые (ещё не сохранённые) задачи
+     */
+    public void insertAll(List<Task> tasks) {
+        for (int from = 0; from < tasks.size(); from += batchSize) {
+            var batch = tasks.subList(from, Math.min(from + batchSize, tasks.size()));
+            insertTasks(batch);
+            insertLabels(batch);
+        }
+    }
+
+    private void insertTasks(List<Task> batch) {
+        var ids = allocateIds(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).setId(ids.get(i));
+            batch.get(i).setVersion(0L);
+        }
+        jdbcTemplate.batchUpdate(INSERT_TASK, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var task = batch.get(i);
+                ps.setLong(1, task.getId());
+                ps.setString(2, task.getName());
+                ps.setObject(3, task.getIndex(), Types.BIGINT);
+                ps.setString(4, task.getDescription());
+                ps.setLong(5, task.getTaskStatus().getId());
+                ps.setObject(6, task.getAssignee() == null ? null : task.getAssignee().getId(), Types.BIGINT);
+                ps.setObject(7, task.getCreatedAt().atOffset(ZoneOffset.UTC));
+                ps.setObject(8, task.getCreatedAt().atOffset(ZoneOffset.UTC));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+    }
+
+    /**
+     * Резервирует идентификаторы в последовательности задач по тем же правилам, что и Hibernate
+     * (оптимизатор pooled-lo): каждое значение последовательности открывает блок
+     * из {@link IdAllocation#ALLOCATION_SIZE} идентификаторов, начиная с него самого.
+     *
+     * @param count количество нужных идентификаторов
+     * @return список зарезервированных идентификаторов
+     */
+    private List<Long> allocateIds(int count) {
+        var blocks = (count + IdAllocation.ALLOCATION_SIZE - 1) / IdAllocation.ALLOCATION_SIZE;
+        var sql = databaseInfo.isPostgres()
+                ? "SELECT nextval('" + IdAllocation.TASKS_SEQUENCE + "') FROM generate_series(1, ?)"
+                : "SELECT NEXT VALUE FOR " + IdAllocation.TASKS_SEQUENCE + " FROM SYSTEM_RANGE(1, ?)";
+        var ids = new ArrayList<Long>(count);
+        for (var low : jdbcTemplate.queryForList(sql, Long.class, blocks)) {
+            for (int i = 0; i < IdAllocation.ALLOCATION_SIZE && ids.size() < count; i++) {
+                ids.add(low + i);
+            }
+        }
+        return ids;
+    }
+
+    private void insertLabels(List<Task> batch) {
+        List<Object[]> rows = new ArrayList<>();
+        for (var task : batch) {
+            for (Label label : task.getLabels()) {
+                rows.add(new Object[] {task.getId(), label.getId()});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TASK_LABEL, rows, new int[] {Types.BIGINT, Types.BIGINT});
+        }
+    }
+}
@@ -2,6 +2,7 @@ package hexlet.code.repository;
 
 import hexlet.code.model.Task;
 import hexlet.code.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -14,9 +15,21 @@ import java.util.Optional;
  * Предоставляет стандартные CRUD-операции через {@link JpaRepository},
  * а также методы для специфичных запросов к задачам и возможность
  * выполнения сложных запросов с использованием спецификаций ({@link JpaSpecificationExecutor}).
+ * Запросы, не выражаемые средствами Spring Data, вынесены в {@link TaskRepositoryCustom}.
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
+
+    /**
+     * Находит задачу по идентификатору вместе со статусом, исполнителем и метками одним запросом.
+     *
+     * @param id идентификатор задачи
+     * @return {@link Optional}, содержащий найденную задачу, или {@link Optional#empty()}, если задача не найдена
+     */
+    @Override
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    Optional<Task> findById(Long id);
 
     /**
      * Находит задачу по её названию.
@@ -53,6 +66,15 @@ public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificat
      */
     boolean existsByAssigneeId(Long assigneeId);
 
+    /**
+     * Проверяет, назначена ли задача с указанным идентификатором указанному пользователю.
+     *
+     * @param id         идентификатор задачи
+     * @param assigneeId идентификатор пользователя-исполнителя
+     * @return true, если задача существует и её исполнитель — пользователь с ID {@code assigneeId}, иначе false
+     */
+    boolean existsByIdAndAssigneeId(Long id, Long assigneeId);
+
     /**
      * Проверяет, существуют ли задачи с указанным идентификатором статуса.
      *
@@ -0,0 +1,50 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.Task.TaskDTO;
+import hexlet.code.dto.Task.TaskField;
+import hexlet.code.dto.Task.TaskStatsDTO;
+import hexlet.code.model.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Дополнительные методы репозитория задач, которые не выражаются через производные запросы Spring Data.
+ * Реализация находится в {@link TaskRepositoryCustomImpl}.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Находит задачи, удовлетворяющие спецификации, и сразу проецирует их в {@link TaskDTO}.
+     * Управляемые сущности не создаются: строки читаются только для чтения,
+     * без снимков для dirty checking и без последующего маппинга.
+     * COUNT-запрос не выполняется.
+     *
+     * @param spec     спецификация фильтрации
+     * @param pageable смещение, размер и сортировка страницы (или {@link Pageable#unpaged()})
+     * @return DTO задач запрошенной страницы вместе с идентификаторами их меток
+     */
+    List<TaskDTO> findAllProjected(Specification<Task> spec, Pageable pageable);
+
+    /**
+     * Находит задачи, удовлетворяющие спецификации, и проецирует в {@link TaskDTO} только запрошенные поля.
+     * Столбцы незапрошенных полей не попадают в SELECT, а метки не читаются, если их не запросили.
+     * Идентификатор и дата создания читаются всегда: они нужны для меток и курсора пагинации.
+     *
+     * @param spec     спецификация фильтрации
+     * @param pageable смещение, размер и сортировка страницы (или {@link Pageable#unpaged()})
+     * @param fields   запрошенные поля
+     * @return DTO задач запрошенной страницы; незапрошенные поля равны null
+     */
+    List<TaskDTO> findAllProjected(Specification<Task> spec, Pageable pageable, Set<TaskField> fields);
+
+    /**
+     * Считает задачи, удовлетворяющие спецификации, в разрезе статусов, исполнителей и меток.
+     * Каждый разрез считается одним запросом {@code GROUP BY} на стороне СУБД, сущности не загружаются.
+     *
+     * @param spec спецификация фильтрации
+     * @return общее количество задач и количества по группам
+     */
+    TaskStatsDTO countStats(Specification<Task> spec);
+}
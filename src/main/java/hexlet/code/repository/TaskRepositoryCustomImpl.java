@@ -0,0 +1,220 @@
+package hexlet.code.repository;
+
+import hexlet.code.component.TaskSpecification;
+import hexlet.code.dto.Task.TaskDTO;
+import hexlet.code.dto.Task.TaskField;
+import hexlet.code.dto.Task.TaskStatsDTO;
+import hexlet.code.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Реализация {@link TaskRepositoryCustom} на основе JPA Criteria API.
+ * Spring Data автоматически подключает её к {@link TaskRepository} по суффиксу {@code Impl}.
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final int LABEL_IDS_CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Находит задачи, удовлетворяющие спецификации, и проецирует их в {@link TaskDTO} со всеми полями.
+     *
+     * @param spec     спецификация фильтрации
+     * @param pageable смещение, размер и сортировка страницы (или {@link Pageable#unpaged()})
+     * @return DTO задач запрошенной страницы вместе с идентификаторами их меток
+     */
+    @Override
+    public List<TaskDTO> findAllProjected(Specification<Task> spec, Pageable pageable) {
+        return findAllProjected(spec, pageable, TaskField.ALL);
+    }
+
+    /**
+     * Находит задачи, удовлетворяющие спецификации, и проецирует их в {@link TaskDTO}.
+     * Первый запрос выбирает только столбцы запрошенных полей: slug статуса — через соединение со статусом,
+     * общее с фильтром и сортировкой, ID исполнителя — из внешнего ключа задачи. Второй {@code IN}-запрос
+     * на каждую тысячу задач собирает ID их меток, если метки запрошены.
+     *
+     * @param spec     спецификация фильтрации
+     * @param pageable смещение, размер и сортировка страницы (или {@link Pageable#unpaged()})
+     * @param fields   запрошенные поля
+     * @return DTO задач запрошенной страницы; незапрошенные поля равны null
+     */
+    @Override
+    public List<TaskDTO> findAllProjected(Specification<Task> spec, Pageable pageable, Set<TaskField> fields) {
+        var columns = columns(fields);
+        var typedQuery = entityManager.createQuery(
+                projection(entityManager.getCriteriaBuilder(), spec, pageable.getSort(), columns));
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        var tasks = typedQuery.getResultList().stream()
+                .map(row -> toDto(row, columns))
+                .toList();
+        if (fields.contains(TaskField.TASK_LABEL_IDS)) {
+            fillLabelIds(tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Считает задачи, удовлетворяющие спецификации, тремя запросами {@code GROUP BY}:
+     * по slug статуса (через соединение со статусом), по внешнему ключу {@code assignee_id}
+     * (без соединения с пользователями) и по меткам (через таблицу {@code task_labels}).
+     * Общее количество складывается из групп по исполнителю, включая задачи без исполнителя,
+     * поэтому отдельный COUNT-запрос не нужен.
+     *
+     * @param spec спецификация фильтрации
+     * @return общее количество задач и количества по группам
+     */
+    @Override
+    public TaskStatsDTO countStats(Specification<Task> spec) {
+        var stats = new TaskStatsDTO();
+
+        // внутреннее соединение создаётся до фильтра, и фильтр по статусу использует его же
+        for (var row : countGrouped(spec, root -> root.join("taskStatus").get("slug"))) {
+            stats.getByStatus().put(row.get(0, String.class), row.get(1, Long.class));
+        }
+
+        for (var row : countGrouped(spec, root -> root.get("assignee").get("id"))) {
+            var assigneeId = row.get(0, Long.class);
+            var count = row.get(1, Long.class);
+            stats.setTotal(stats.getTotal() + count);
+            if (assigneeId == null) {
+                stats.setUnassigned(count);
+            } else {
+                stats.getByAssignee().put(assigneeId, count);
+            }
+        }
+
+        for (var row : countGrouped(spec, root -> root.join("labels").get("id"))) {
+            stats.getByLabel().put(row.get(0, Long.class), row.get(1, Long.class));
+        }
+        return stats;
+    }
+
+    private List<Tuple> countGrouped(Specification<Task> spec, Function<Root<Task>, Expression<?>> key) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(Task.class);
+        var groupKey = key.apply(root);
+
+        query.multiselect(groupKey, cb.count(root)).groupBy(groupKey).orderBy(cb.asc(groupKey));
+        var predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Строит запрос проекции задач: столбцы запрошенных полей, условие спецификации и сортировку.
+     * Используется и списком задач, и выгрузкой ({@link TaskExportRepository}), поэтому фильтры
+     * выгрузки всегда совпадают с фильтрами списка.
+     *
+     * @param cb      построитель запросов сессии, в которой запрос будет выполнен
+     * @param spec    спецификация фильтрации
+     * @param sort    сортировка
+     * @param columns столбцы задачи (см. {@link #columns(Set)})
+     * @return запрос, строки которого преобразуются в DTO методом {@link #toDto(Tuple, Set)}
+     */
+    static CriteriaQuery<Tuple> projection(CriteriaBuilder cb, Specification<Task> spec, Sort sort,
+                                           Set<TaskField> columns) {
+        var query = cb.createTupleQuery();
+        var root = query.from(Task.class);
+
+        var selections = new ArrayList<Selection<?>>();
+        for (var column : columns) {
+            selections.add(column(root, column).alias(column.name()));
+        }
+        query.multiselect(selections);
+
+        var predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return query;
+    }
+
+    // поля, которые читаются из строки задачи; ID и дата создания нужны всегда — для меток и курсора
+    static Set<TaskField> columns(Set<TaskField> fields) {
+        var columns = EnumSet.of(TaskField.ID, TaskField.CREATED_AT);
+        columns.addAll(fields);
+        columns.remove(TaskField.TASK_LABEL_IDS);
+        return columns;
+    }
+
+    private static Expression<?> column(Root<Task> root, TaskField field) {
+        return switch (field) {
+            case ID -> root.get("id");
+            case INDEX -> root.get("index");
+            case TITLE -> root.get("name");
+            case CONTENT -> root.get("description");
+            case STATUS -> TaskSpecification.statusJoin(root).get("slug");
+            // внешний ключ assignee_id читается из строки задачи без соединения с users
+            case ASSIGNEE_ID -> root.get("assignee").get("id");
+            case CREATED_AT -> root.get("createdAt");
+            case TASK_LABEL_IDS -> throw new IllegalArgumentException("Labels are not a task column");
+        };
+    }
+
+    static TaskDTO toDto(Tuple row, Set<TaskField> columns) {
+        var task = new TaskDTO();
+        task.setId(row.get(TaskField.ID.name(), Long.class));
+        task.setIndex(value(row, columns, TaskField.INDEX, Long.class));
+        task.setTitle(value(row, columns, TaskField.TITLE, String.class));
+        task.setContent(value(row, columns, TaskField.CONTENT, String.class));
+        task.setStatus(value(row, columns, TaskField.STATUS, String.class));
+        task.setAssigneeId(value(row, columns, TaskField.ASSIGNEE_ID, Long.class));
+        task.setCreatedAt(row.get(TaskField.CREATED_AT.name(), Instant.class));
+        return task;
+    }
+
+    private static <T> T value(Tuple row, Set<TaskField> columns, TaskField field, Class<T> type) {
+        return columns.contains(field) ? row.get(field.name(), type) : null;
+    }
+
+    private void fillLabelIds(List<TaskDTO> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        var byId = tasks.stream().collect(Collectors.toMap(TaskDTO::getId, Function.identity(), (a, b) -> a,
+                HashMap::new));
+        tasks.forEach(task -> task.setLabelIds(new HashSet<>()));
+        // без пагинации в списке могут быть все задачи, а число параметров запроса ограничено (65535 в PostgreSQL)
+        var ids = List.copyOf(byId.keySet());
+        for (int from = 0; from < ids.size(); from += LABEL_IDS_CHUNK_SIZE) {
+            var chunk = ids.subList(from, Math.min(from + LABEL_IDS_CHUNK_SIZE, ids.size()));
+            var rows = entityManager.createQuery(
+                            "SELECT t.id, l.id FROM Task t JOIN t.labels l WHERE t.id IN :ids", Object[].class)
+                    .setParameter("ids", chunk)
+                    .getResultList();
+            for (var row : rows) {
+                byId.get((Long) row[0]).getLabelIds().add((Long) row[1]);
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import hexlet.code.model.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,4 +22,12 @@ public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
      * @return {@link Optional}, содержащий найденный статус задачи, или {@link Optional#empty()}, если статус не найден
      */
     Optional<TaskStatus> findBySlug(String slug);
+
+    /**
+     * Находит статусы задач по набору слагов одним запросом.
+     *
+     * @param slugs слаги статусов
+     * @return список найденных статусов (несуществующие слаги пропускаются)
+     */
+    List<TaskStatus> findBySlugIn(Collection<String> slugs);
 }
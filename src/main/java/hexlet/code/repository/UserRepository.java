@@ -2,8 +2,11 @@ package hexlet.code.repository;
 
 import hexlet.code.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Репозиторий для сущности {@link User}.
@@ -20,4 +23,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * если пользователь не найден
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Возвращает те идентификаторы из переданных, для которых существуют пользователи.
+     * Загружается только столбец {@code id}, без построения сущностей.
+     *
+     * @param ids проверяемые идентификаторы пользователей
+     * @return множество существующих идентификаторов
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
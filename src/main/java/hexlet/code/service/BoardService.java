@@ -0,0 +1,9 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.Board.BoardColumnDTO;
+
+import java.util.List;
+
+public interface BoardService {
+    List<BoardColumnDTO> getColumns(Integer limit);
+}
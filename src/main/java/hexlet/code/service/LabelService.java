@@ -4,10 +4,11 @@ import hexlet.code.dto.Label.LabelCreateDTO;
 import hexlet.code.dto.Label.LabelDTO;
 import hexlet.code.dto.Label.LabelUpdateDTO;
 
-import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 public interface LabelService {
-    List<LabelDTO> getAll();
+    Page<LabelDTO> getAll(Pageable pageable);
     LabelDTO findById(Long id);
     LabelDTO create(LabelCreateDTO labelData);
     LabelDTO update(LabelUpdateDTO labelData, Long id);
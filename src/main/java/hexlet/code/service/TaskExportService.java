@@ -0,0 +1,11 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.Task.TaskExportFormat;
+import hexlet.code.dto.TaskParamsDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TaskExportService {
+    void export(TaskParamsDTO params, TaskExportFormat format, OutputStream out) throws IOException;
+}
@@ -1,16 +1,31 @@
 package hexlet.code.service;
 
+import hexlet.code.dto.CursorPageDTO;
+import hexlet.code.dto.Task.TaskBulkResultDTO;
+import hexlet.code.dto.Task.TaskCountsDTO;
 import hexlet.code.dto.Task.TaskCreateDTO;
 import hexlet.code.dto.Task.TaskDTO;
+import hexlet.code.dto.Task.TaskStatsDTO;
 import hexlet.code.dto.Task.TaskUpdateDTO;
 import hexlet.code.dto.TaskParamsDTO;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface TaskService {
-    List<TaskDTO> getAll(TaskParamsDTO params);
+    Page<TaskDTO> getAll(TaskParamsDTO params, Pageable pageable, boolean estimateCount);
+    CursorPageDTO<TaskDTO> getPage(TaskParamsDTO params, String after, Integer limit);
+    void forEach(TaskParamsDTO params, Consumer<TaskDTO> action);
+    TaskStatsDTO getStats(TaskParamsDTO params);
+    TaskCountsDTO getCounts();
     TaskDTO findById(Long id);
+    TaskDTO findById(Long id, Predicate<String> notModified);
     TaskDTO create(TaskCreateDTO taskData);
-    TaskDTO update(TaskUpdateDTO taskData, Long id);
-    void delete(Long id);
+    List<TaskBulkResultDTO> createAll(List<TaskCreateDTO> tasksData);
+    TaskDTO update(TaskUpdateDTO taskData, Long id, String ifMatch);
+    void delete(Long id, String ifMatch);
 }
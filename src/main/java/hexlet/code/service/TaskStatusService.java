@@ -4,13 +4,14 @@ import hexlet.code.dto.TaskStatus.TaskStatusCreateDTO;
 import hexlet.code.dto.TaskStatus.TaskStatusDTO;
 import hexlet.code.dto.TaskStatus.TaskStatusUpdateDTO;
 
-import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 public interface TaskStatusService {
-    List<TaskStatusDTO> getAll();
+    Page<TaskStatusDTO> getAll(Pageable pageable);
     TaskStatusDTO findById(Long id);
     TaskStatusDTO create(TaskStatusCreateDTO statusData);
-    TaskStatusDTO update(TaskStatusUpdateDTO statusData, Long id);
-    void delete(Long id);
+    TaskStatusDTO update(TaskStatusUpdateDTO statusData, Long id, String ifMatch);
+    void delete(Long id, String ifMatch);
     TaskStatusDTO findBySlug(String slug);
 }
@@ -4,13 +4,17 @@ import hexlet.code.dto.User.UserCreateDTO;
 import hexlet.code.dto.User.UserDTO;
 import hexlet.code.dto.User.UserUpdateDTO;
 
-import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.function.Predicate;
 
 public interface UserService {
-    List<UserDTO> getAll();
+    Page<UserDTO> getAll(Pageable pageable);
     UserDTO findById(Long id);
+    UserDTO findById(Long id, Predicate<String> notModified);
     UserDTO create(UserCreateDTO userData);
-    UserDTO update(UserUpdateDTO userData, Long id);
-    void delete(Long id);
+    UserDTO update(UserUpdateDTO userData, Long id, String ifMatch);
+    void delete(Long id, String ifMatch);
 
 }
@@ -0,0 +1,41 @@
+package hexlet.code.serviceImpl;
+
+import hexlet.code.dto.Board.BoardColumnDTO;
+import hexlet.code.repository.BoardRepository;
+import hexlet.code.service.BoardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Сервис канбан-доски: статусы задач вместе с первыми задачами каждого статуса.
+ * Использует репозиторий {@link BoardRepository}, который собирает доску одним запросом.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class BoardServiceImpl implements BoardService {
+
+    private final BoardRepository boardRepository;
+
+    @Value("${app.board.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${app.board.max-limit:200}")
+    private int maxLimit;
+
+    /**
+     * Возвращает колонки доски: каждый статус, его первые задачи по {@code index} и общее количество задач.
+     *
+     * @param limit количество задач в колонке или null для значения по умолчанию; ограничивается сверху
+     *              {@code app.board.max-limit}
+     * @return список колонок {@link BoardColumnDTO} в порядке создания статусов
+     */
+    public List<BoardColumnDTO> getColumns(Integer limit) {
+        var perColumn = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        return boardRepository.findColumns(perColumn);
+    }
+}
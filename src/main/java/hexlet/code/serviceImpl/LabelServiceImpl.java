@@ -8,11 +8,11 @@ import hexlet.code.mapper.LabelMapper;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.service.LabelService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 /**
  * Предоставляет методы для получения, создания, обновления и удаления меток.
  * Использует репозитории {@link LabelRepository}.
@@ -25,13 +25,15 @@ public class LabelServiceImpl implements LabelService {
     private final LabelMapper mapper;
 
     /**
-     * Возвращает список всех меток.
+     * Возвращает страницу меток.
+     * Для {@link Pageable#unpaged()} возвращается список всех меток без COUNT-запроса.
      *
-     * @return список DTO всех меток {@link LabelDTO}
+     * @param pageable смещение, размер и сортировка страницы
+     * @return страница DTO меток {@link LabelDTO} с общим количеством меток
      */
     @Override
-    public List<LabelDTO> getAll() {
-        return labelRepository.findAll().stream().map(mapper::map).toList();
+    public Page<LabelDTO> getAll(Pageable pageable) {
+        return labelRepository.findAll(pageable).map(mapper::map);
     }
 
     /**
@@ -0,0 +1,125 @@
+package hexlet.code.serviceImpl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hexlet.code.dto.Task.TaskDTO;
+import hexlet.code.dto.Task.TaskExportFormat;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.repository.TaskExportRepository;
+import hexlet.code.service.TaskExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис выгрузки задач в NDJSON (одна задача JSON на строку) и CSV.
+ * Задачи читаются курсором через {@link TaskExportRepository} и пишутся в поток по одной,
+ * поэтому объём выгрузки не ограничен памятью приложения.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportServiceImpl implements TaskExportService {
+
+    private static final String CSV_HEADER = "id,index,title,content,status,assignee_id,taskLabelIds,createdAt";
+
+    private final TaskExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Выгружает задачи, удовлетворяющие фильтру, в указанном формате.
+     * Поток {@code out} не закрывается.
+     *
+     * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
+     * @param format формат выгрузки
+     * @param out    поток, в который пишется выгрузка
+     * @throws IOException при ошибке записи или чтения из базы данных
+     */
+    @Override
+    public void export(TaskParamsDTO params, TaskExportFormat format, OutputStream out) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        switch (format) {
+            case NDJSON -> writeNdjson(params, writer);
+            case CSV -> writeCsv(params, writer);
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(TaskParamsDTO params, Writer writer) throws IOException {
+        var jsonWriter = objectMapper.writerFor(TaskDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (var generator = objectMapper.getFactory().createGenerator(writer)) {
+            // разделитель строк пишем сами: NDJSON требует перевод строки после каждой записи
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            forEach(params, task -> {
+                jsonWriter.writeValue(generator, task);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private void writeCsv(TaskParamsDTO params, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        forEach(params, task -> {
+            var labelIds = task.getLabelIds().stream()
+                    .sorted()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(";"));
+            writer.write(String.join(",",
+                    String.valueOf(task.getId()),
+                    Objects.toString(task.getIndex(), ""),
+                    csv(task.getTitle()),
+                    csv(task.getContent()),
+                    csv(task.getStatus()),
+                    Objects.toString(task.getAssigneeId(), ""),
+                    labelIds,
+                    Objects.toString(task.getCreatedAt(), "")));
+            writer.write("\r\n");
+        });
+    }
+
+    private void forEach(TaskParamsDTO params, TaskWriter action) throws IOException {
+        Consumer<TaskDTO> consumer = task -> {
+            try {
+                action.write(task);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            exportRepository.forEach(params, consumer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (SQLException e) {
+            throw new IOException("Task export failed", e);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface TaskWriter {
+        void write(TaskDTO task) throws IOException;
+    }
+}
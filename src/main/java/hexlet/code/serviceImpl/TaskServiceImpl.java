@@ -1,18 +1,63 @@
 package hexlet.code.serviceImpl;
 
+import hexlet.code.component.RowCountEstimator;
+import hexlet.code.component.TableVersions;
+import hexlet.code.component.TaskCounters;
 import hexlet.code.component.TaskSpecification;
+import hexlet.code.component.TaskTitleIndex;
+import hexlet.code.dto.CursorPageDTO;
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskMapper;
+import hexlet.code.dto.Task.TaskBulkResultDTO;
+import hexlet.code.dto.Task.TaskCountsDTO;
 import hexlet.code.dto.Task.TaskCreateDTO;
 import hexlet.code.dto.Task.TaskDTO;
+import hexlet.code.dto.Task.TaskField;
+import hexlet.code.dto.Task.TaskStatsDTO;
 import hexlet.code.dto.Task.TaskUpdateDTO;
 import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskExportRepository;
+import hexlet.code.repository.TaskJdbcRepository;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
 import hexlet.code.service.TaskService;
+import hexlet.code.util.ETags;
+import hexlet.code.util.OffsetPageRequest;
+import hexlet.code.util.TaskCursor;
+import hexlet.code.util.TransactionUtils;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для управления задачами ({@link Task}).
@@ -29,17 +74,119 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final TaskSpecification taskSpecification;
     private final TaskMapper mapper;
+    private final RowCountEstimator rowCountEstimator;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final TaskExportRepository taskExportRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final UserRepository userRepository;
+    private final LabelRepository labelRepository;
+    private final TaskTitleIndex titleIndex;
+    private final TaskCounters taskCounters;
+    private final TableVersions tableVersions;
+    private final Validator validator;
+
+    @Value("${app.tasks.pagination.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${app.tasks.pagination.max-limit:500}")
+    private int maxLimit;
+
+    @Value("${app.tasks.bulk.max-items:5000}")
+    private int bulkMaxItems;
+
+    /**
+     * Возвращает страницу задач, отфильтрованную по указанным параметрам.
+     * Задачи читаются DTO-проекцией ({@link TaskRepository#findAllProjected}), минуя управляемые сущности;
+     * если в {@code params} передан список полей {@code fields}, из БД читаются только они.
+     * Общее количество задач считается отдельным COUNT-запросом по той же спецификации,
+     * если его нельзя вывести из размера последней страницы.
+     * Если запрошена оценка ({@code estimateCount}) и фильтры не заданы, количество берётся
+     * из статистики планировщика PostgreSQL, а COUNT-запрос не выполняется вовсе.
+     * Для {@link Pageable#unpaged()} возвращается весь отфильтрованный список.
+     *
+     * @param params        объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
+     * @param pageable      смещение, размер и сортировка страницы
+     * @param estimateCount true, если вместо точного количества допустима оценка
+     * @return страница DTO задач {@link TaskDTO}, удовлетворяющих фильтру
+     */
+    public Page<TaskDTO> getAll(TaskParamsDTO params, Pageable pageable, boolean estimateCount) {
+        var spec = taskSpecification.build(params);
+        var content = taskRepository.findAllProjected(spec, pageable, TaskField.of(params.getFields()));
+
+        if (estimateCount && pageable.isPaged() && !hasFilters(params)) {
+            var estimate = rowCountEstimator.estimate("tasks");
+            if (estimate.isPresent()) {
+                return new PageImpl<>(content, pageable, estimate.getAsLong());
+            }
+        }
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> taskRepository.count(spec));
+    }
 
     /**
-     * Возвращает список задач, отфильтрованный по указанным параметрам.
+     * Возвращает страницу задач с keyset-пагинацией по паре ({@code createdAt}, {@code id}).
+     * Фильтры из {@code params} комбинируются с seek-предикатом, а из базы читается
+     * не более {@code limit + 1} строк: лишняя строка лишь сигнализирует о наличии следующей страницы.
      *
      * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
-     * @return список DTO задач {@link TaskDTO}, удовлетворяющих фильтру
+     * @param after  непрозрачный курсор последней задачи предыдущей страницы или null для первой страницы
+     * @param limit  максимальный размер страницы или null для размера по умолчанию
+     * @return страница DTO задач и курсор следующей страницы (null, если страница последняя)
      */
-    public List<TaskDTO> getAll(TaskParamsDTO params) {
+    public CursorPageDTO<TaskDTO> getPage(TaskParamsDTO params, String after, Integer limit) {
+        var pageSize = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
         var spec = taskSpecification.build(params);
-        var tasks = taskRepository.findAll(spec);
-        return tasks.stream().map(mapper::map).toList();
+        if (after != null) {
+            spec = spec.and(taskSpecification.after(TaskCursor.decode(after)));
+        }
+        var sort = Sort.by(Sort.Direction.ASC, "createdAt", "id");
+        var tasks = taskRepository.findAllProjected(spec, new OffsetPageRequest(0, pageSize + 1, sort),
+                TaskField.of(params.getFields()));
+
+        var hasNext = tasks.size() > pageSize;
+        var content = hasNext ? tasks.subList(0, pageSize) : tasks;
+        var nextCursor = hasNext ? TaskCursor.of(content.get(pageSize - 1)).encode() : null;
+        return new CursorPageDTO<>(content, nextCursor);
+    }
+
+    /**
+     * Передаёт все задачи, удовлетворяющие фильтру, в {@code action} по одной, в порядке создания.
+     * Задачи читаются курсором порциями через пул соединений выгрузки ({@link TaskExportRepository}),
+     * поэтому потребление памяти не зависит от размера результата, а медленный клиент
+     * не удерживает соединение основного пула. Транзакция основного пула не открывается.
+     *
+     * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
+     * @param action обработчик очередной задачи
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEach(TaskParamsDTO params, Consumer<TaskDTO> action) {
+        try {
+            taskExportRepository.forEach(params, TaskField.of(params.getFields()), action);
+        } catch (SQLException e) {
+            throw new DataRetrievalFailureException("Task stream failed", e);
+        }
+    }
+
+    /**
+     * Возвращает количество задач, удовлетворяющих фильтру, в разрезе статусов, исполнителей и меток.
+     * Подсчёт выполняется запросами {@code GROUP BY} в СУБД без загрузки задач.
+     *
+     * @param params объект {@link TaskParamsDTO}, содержащий параметры фильтрации (может быть пустым)
+     * @return агрегированная статистика {@link TaskStatsDTO}
+     */
+    public TaskStatsDTO getStats(TaskParamsDTO params) {
+        return taskRepository.countStats(taskSpecification.build(params));
+    }
+
+    /**
+     * Возвращает количество задач всего, по статусам и по исполнителям из счётчиков в памяти,
+     * без обращения к БД. Значения поддерживаются {@link TaskCounters} и могут кратковременно
+     * расходиться с таблицей до очередной сверки.
+     *
+     * @return количества задач {@link TaskCountsDTO}
+     */
+    public TaskCountsDTO getCounts() {
+        return taskCounters.snapshot();
     }
 
     /**
@@ -55,6 +202,23 @@ public class TaskServiceImpl implements TaskService {
         return mapper.map(task);
     }
 
+    /**
+     * Находит задачу по её идентификатору, если её версия отличается от известной клиенту.
+     * Сильный ETag строится по идентификатору и версии задачи ({@code @Version}) и версии её статуса,
+     * так как в ответ входит slug статуса. Статус загружается вместе с задачей,
+     * поэтому тег вычисляется сразу после загрузки, до маппинга в DTO.
+     *
+     * @param id          идентификатор задачи
+     * @param notModified проверка ETag по условному запросу; возвращает true, если у клиента актуальная версия
+     * @return DTO найденной задачи {@link TaskDTO} или null, если версия клиента актуальна
+     * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена
+     */
+    public TaskDTO findById(Long id, Predicate<String> notModified) {
+        var task = taskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task with id " + id + " not found"));
+        return notModified.test(etag(task)) ? null : mapper.map(task);
+    }
+
     /**
      * Создаёт новую задачу.
      *
@@ -65,38 +229,178 @@ public class TaskServiceImpl implements TaskService {
     public TaskDTO create(TaskCreateDTO taskData) {
         var task = mapper.map(taskData);
         taskRepository.save(task);
+        var statusId = statusId(task);
+        var assigneeId = assigneeId(task);
+        TransactionUtils.afterCommit(() -> taskCounters.created(statusId, assigneeId));
         return mapper.map(task);
     }
 
+    /**
+     * Создаёт задачи пачкой в одной транзакции.
+     * Статусы, исполнители и метки всех элементов разрешаются тремя запросами на всю пачку,
+     * каждый элемент проверяется до вставки, а корректные задачи и их связи с метками
+     * вставляются пакетами JDBC ({@link TaskJdbcRepository}). Некорректные элементы пропускаются,
+     * и для них возвращается список ошибок.
+     *
+     * @param tasksData список DTO с данными для создания задач {@link TaskCreateDTO}
+     * @return результат по каждому элементу в исходном порядке: созданная задача или ошибки
+     * @throws ResponseStatusException с кодом 400 (BAD_REQUEST), если элементов больше {@code app.tasks.bulk.max-items}
+     */
+    @Transactional
+    public List<TaskBulkResultDTO> createAll(List<TaskCreateDTO> tasksData) {
+        if (tasksData.size() > bulkMaxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + bulkMaxItems + " tasks can be created in one request");
+        }
+        var items = tasksData.stream().filter(Objects::nonNull).toList();
+        var statuses = taskStatusRepository
+                .findBySlugIn(items.stream().map(TaskCreateDTO::getStatus).filter(Objects::nonNull).toList())
+                .stream()
+                .collect(Collectors.toMap(TaskStatus::getSlug, Function.identity()));
+        var assigneeIds = items.stream().map(TaskCreateDTO::getAssigneeId).filter(Objects::nonNull).toList();
+        var existingAssignees = assigneeIds.isEmpty() ? Set.<Long>of() : userRepository.findExistingIds(assigneeIds);
+        var labels = labelRepository
+                .findAllById(items.stream()
+                        .filter(item -> item.getLabelIds() != null)
+                        .flatMap(item -> item.getLabelIds().stream())
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Label::getId, Function.identity()));
+
+        var createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        var tasks = new ArrayList<Task>();
+        var taskPositions = new ArrayList<Integer>();
+        var results = new ArrayList<TaskBulkResultDTO>(tasksData.size());
+        for (int i = 0; i < tasksData.size(); i++) {
+            var item = tasksData.get(i);
+            var errors = validate(item, statuses, existingAssignees, labels);
+            if (!errors.isEmpty()) {
+                results.add(new TaskBulkResultDTO(i, null, errors));
+                continue;
+            }
+            var task = new Task();
+            task.setName(item.getTitle());
+            task.setIndex(item.getIndex());
+            task.setDescription(item.getContent());
+            task.setTaskStatus(statuses.get(item.getStatus()));
+            if (item.getAssigneeId() != null) {
+                task.setAssignee(userRepository.getReferenceById(item.getAssigneeId()));
+            }
+            if (item.getLabelIds() != null) {
+                item.getLabelIds().forEach(labelId -> task.getLabels().add(labels.get(labelId)));
+            }
+            task.setCreatedAt(createdAt);
+            tasks.add(task);
+            taskPositions.add(results.size());
+            results.add(null);
+        }
+
+        taskJdbcRepository.insertAll(tasks);
+        // пакетная вставка идёт в обход JPA, поэтому слушатель сущностей её не видит
+        if (!tasks.isEmpty()) {
+            tableVersions.changed(Task.class);
+        }
+        TransactionUtils.afterCommit(() -> tasks.forEach(task -> {
+            titleIndex.put(task.getId(), task.getName());
+            taskCounters.created(statusId(task), assigneeId(task));
+        }));
+
+        for (int i = 0; i < tasks.size(); i++) {
+            int position = taskPositions.get(i);
+            results.set(position, new TaskBulkResultDTO(position, mapper.map(tasks.get(i)), List.of()));
+        }
+        return results;
+    }
+
     /**
      * Обновляет существующую задачу.
+     * Если передан {@code ifMatch}, задача обновляется, только пока её версия совпадает с версией клиента;
+     * изменение задачи другой транзакцией после чтения отклоняется оптимистической блокировкой.
      *
      * @param taskData DTO с новыми данными задачи {@link TaskUpdateDTO}
      * @param id       идентификатор обновляемой задачи
-     * @return DTO обновлённой задачи {@link TaskDTO}
-     * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена
+     * @param ifMatch  значение заголовка {@code If-Match} или null
+     * @return DTO обновлённой задачи {@link TaskDTO} с новой версией
+     * @throws ResourceNotFoundException   если задача с указанным идентификатором не найдена
+     * @throws PreconditionFailedException если версия задачи не совпадает с {@code ifMatch}
      */
     @Transactional
-    public TaskDTO update(TaskUpdateDTO taskData, Long id) {
+    public TaskDTO update(TaskUpdateDTO taskData, Long id, String ifMatch) {
         var task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        ETags.checkIfMatch(ifMatch, etag(task));
+        var oldStatusId = statusId(task);
+        var oldAssigneeId = assigneeId(task);
         mapper.update(taskData, task);
-        taskRepository.save(task);
+        taskRepository.saveAndFlush(task);
+        var newStatusId = statusId(task);
+        var newAssigneeId = assigneeId(task);
+        TransactionUtils.afterCommit(() ->
+                taskCounters.changed(oldStatusId, oldAssigneeId, newStatusId, newAssigneeId));
         return mapper.map(task);
     }
 
     /**
      * Удаляет задачу по её идентификатору.
      *
-     * @param id идентификатор удаляемой задачи
-     * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена
+     * @param id      идентификатор удаляемой задачи
+     * @param ifMatch значение заголовка {@code If-Match} или null
+     * @throws ResourceNotFoundException   если задача с указанным идентификатором не найдена
+     * @throws PreconditionFailedException если версия задачи не совпадает с {@code ifMatch}
      */
     @Transactional
     @Override
-    public void delete(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Task not found");
+    public void delete(Long id, String ifMatch) {
+        var task = taskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        ETags.checkIfMatch(ifMatch, etag(task));
+        var statusId = statusId(task);
+        var assigneeId = assigneeId(task);
+        taskRepository.delete(task);
+        TransactionUtils.afterCommit(() -> taskCounters.deleted(statusId, assigneeId));
+    }
+
+    private List<String> validate(TaskCreateDTO item, Map<String, TaskStatus> statuses, Set<Long> existingAssignees,
+                                  Map<Long, Label> labels) {
+        if (item == null) {
+            return List.of("task must not be null");
+        }
+        var errors = new ArrayList<String>();
+        validator.validate(item).forEach(violation ->
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+        if (item.getStatus() != null && !statuses.containsKey(item.getStatus())) {
+            errors.add("status: task status '" + item.getStatus() + "' not found");
+        }
+        if (item.getAssigneeId() != null && !existingAssignees.contains(item.getAssigneeId())) {
+            errors.add("assignee_id: user with id " + item.getAssigneeId() + " not found");
         }
-        taskRepository.deleteById(id);
+        if (item.getLabelIds() != null) {
+            item.getLabelIds().stream()
+                    .filter(labelId -> labelId == null || !labels.containsKey(labelId))
+                    .forEach(labelId -> errors.add("taskLabelIds: label with id " + labelId + " not found"));
+        }
+        return errors;
+    }
+
+    private static String etag(Task task) {
+        var statusVersion = task.getTaskStatus() == null ? null : task.getTaskStatus().getVersion();
+        return ETags.of(task.getId(), task.getVersion(), statusVersion);
+    }
+
+    private static Long statusId(Task task) {
+        return task.getTaskStatus() == null ? null : task.getTaskStatus().getId();
+    }
+
+    private static Long assigneeId(Task task) {
+        return task.getAssignee() == null ? null : task.getAssignee().getId();
+    }
+
+    private static boolean hasFilters(TaskParamsDTO params) {
+        return params.getTitleCont() != null
+                || params.getAssigneeId() != null
+                || params.getStatus() != null
+                || params.getLabelId() != null
+                || !TaskSpecification.distinctLabelIds(params).isEmpty();
     }
 }
@@ -1,5 +1,6 @@
 package hexlet.code.serviceImpl;
 
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskStatusMapper;
 import hexlet.code.dto.TaskStatus.TaskStatusCreateDTO;
@@ -8,10 +9,12 @@ import hexlet.code.dto.TaskStatus.TaskStatusUpdateDTO;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.service.TaskStatusService;
+import hexlet.code.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.List;
 
 /**
  * Сервис для управления статусами задач ({@link TaskStatus}).
@@ -31,12 +34,14 @@ public class TaskStatusServiceImpl implements TaskStatusService {
     private final TaskRepository taskRepository;
 
     /**
-     * Возвращает список всех статусов задач.
+     * Возвращает страницу статусов задач.
+     * Для {@link Pageable#unpaged()} возвращается список всех статусов без COUNT-запроса.
      *
-     * @return список DTO всех статусов задач {@link TaskStatusDTO}
+     * @param pageable смещение, размер и сортировка страницы
+     * @return страница DTO статусов задач {@link TaskStatusDTO} с общим количеством статусов
      */
-    public List<TaskStatusDTO> getAll() {
-        return taskStatusRepository.findAll().stream().map(taskStatusMapper::map).toList();
+    public Page<TaskStatusDTO> getAll(Pageable pageable) {
+        return taskStatusRepository.findAll(pageable).map(taskStatusMapper::map);
     }
 
     /**
@@ -70,17 +75,21 @@ public class TaskStatusServiceImpl implements TaskStatusService {
     /**
      * Обновляет существующий статус задачи.
      * Перед обновлением проверяет, что новый слаг уникален (если он изменяется).
+     * Если передан {@code ifMatch}, статус обновляется, только пока его версия совпадает с версией клиента.
      *
      * @param statusData DTO с новыми данными статуса задачи {@link TaskStatusUpdateDTO}
      * @param id         идентификатор обновляемого статуса задачи
-     * @return DTO обновлённого статуса задачи {@link TaskStatusDTO}
-     * @throws ResourceNotFoundException если статус задачи с указанным идентификатором не найден
-     *                                   или если новый слаг уже существует
+     * @param ifMatch    значение заголовка {@code If-Match} или null
+     * @return DTO обновлённого статуса задачи {@link TaskStatusDTO} с новой версией
+     * @throws ResourceNotFoundException   если статус задачи с указанным идентификатором не найден
+     *                                     или если новый слаг уже существует
+     * @throws PreconditionFailedException если версия статуса не совпадает с {@code ifMatch}
      */
     @Transactional
-    public TaskStatusDTO update(TaskStatusUpdateDTO statusData, Long id) {
+    public TaskStatusDTO update(TaskStatusUpdateDTO statusData, Long id, String ifMatch) {
         var status = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Status not found"));
+        ETags.checkIfMatch(ifMatch, ETags.of(status.getId(), status.getVersion()));
 
         if (statusData.getSlug() != null) {
             statusData.getSlug().ifPresent(newSlug -> {
@@ -91,7 +100,7 @@ public class TaskStatusServiceImpl implements TaskStatusService {
         }
 
         taskStatusMapper.update(statusData, status);
-        taskStatusRepository.save(status);
+        taskStatusRepository.saveAndFlush(status);
         return taskStatusMapper.map(status);
     }
 
@@ -99,16 +108,18 @@ public class TaskStatusServiceImpl implements TaskStatusService {
      * Удаляет статус задачи по её идентификатору.
      * Перед удалением проверяет, используются ли задачи с этим статусом.
      *
-     * @param id идентификатор удаляемого статуса задачи
-     * @throws ResourceNotFoundException если статус задачи используется в задачах или не найден
+     * @param id      идентификатор удаляемого статуса задачи
+     * @param ifMatch значение заголовка {@code If-Match} или null
+     * @throws ResourceNotFoundException   если статус задачи используется в задачах или не найден
+     * @throws PreconditionFailedException если версия статуса не совпадает с {@code ifMatch}
      */
     @Transactional
     @Override
-    public void delete(Long id) {
-        if (!taskStatusRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Task status not found");
-        }
-        taskStatusRepository.deleteById(id);
+    public void delete(Long id, String ifMatch) {
+        var status = taskStatusRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task status not found"));
+        ETags.checkIfMatch(ifMatch, ETags.of(status.getId(), status.getVersion()));
+        taskStatusRepository.delete(status);
     }
 
     /**
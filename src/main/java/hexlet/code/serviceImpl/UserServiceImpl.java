@@ -1,17 +1,25 @@
 package hexlet.code.serviceImpl;
 
+import hexlet.code.component.UserDetailsCache;
 import hexlet.code.dto.User.UserCreateDTO;
 import hexlet.code.dto.User.UserDTO;
 import hexlet.code.dto.User.UserUpdateDTO;
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.UserMapper;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.service.UserService;
+import hexlet.code.util.ETags;
+import hexlet.code.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.List;
+
+import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Сервис для управления пользователями ({@link User}).
@@ -29,14 +37,17 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
 
     /**
-     * Возвращает список всех пользователей.
+     * Возвращает страницу пользователей.
+     * Для {@link Pageable#unpaged()} возвращается список всех пользователей без COUNT-запроса.
      *
-     * @return список DTO всех пользователей {@link UserDTO}
+     * @param pageable смещение, размер и сортировка страницы
+     * @return страница DTO пользователей {@link UserDTO} с общим количеством пользователей
      */
-    public List<UserDTO> getAll() {
-        return userRepository.findAll().stream().map(userMapper::map).toList();
+    public Page<UserDTO> getAll(Pageable pageable) {
+        return userRepository.findAll(pageable).map(userMapper::map);
     }
 
     /**
@@ -52,10 +63,27 @@ public class UserServiceImpl implements UserService {
         return userMapper.map(user);
     }
 
+    /**
+     * Находит пользователя по его идентификатору, если его версия отличается от известной клиенту.
+     * Сильный ETag строится по идентификатору и версии пользователя ({@code @Version})
+     * сразу после загрузки, до маппинга в DTO.
+     *
+     * @param id          идентификатор пользователя
+     * @param notModified проверка ETag по условному запросу; возвращает true, если у клиента актуальная версия
+     * @return DTO найденного пользователя {@link UserDTO} или null, если версия клиента актуальна
+     * @throws ResourceNotFoundException если пользователь с указанным идентификатором не найден
+     */
+    public UserDTO findById(Long id, Predicate<String> notModified) {
+        var user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return notModified.test(ETags.of(user.getId(), user.getVersion())) ? null : userMapper.map(user);
+    }
+
     /**
      * Создаёт нового пользователя.
      * Перед созданием проверяет, что email уникален.
      * Пароль хешируется перед сохранением.
+     * После фиксации email перестаёт считаться неизвестным в {@link UserDetailsCache}, чтобы сразу можно было войти.
      *
      * @param userData DTO с данными для создания пользователя {@link UserCreateDTO}
      * @return DTO созданного пользователя {@link UserDTO}
@@ -66,23 +94,32 @@ public class UserServiceImpl implements UserService {
         var user = userMapper.map(userData);
         user.setPassword(passwordEncoder.encode(userData.getPassword()));
         userRepository.save(user);
+        TransactionUtils.afterCommit(() -> userDetailsCache.evictUnknown(user.getEmail()));
         return userMapper.map(user);
     }
 
     /**
      * Обновляет существующего пользователя.
      * Если в DTO присутствует пароль (JsonNullable), он хешируется и обновляется.
+     * Если передан {@code ifMatch}, пользователь обновляется, только пока его версия совпадает с версией клиента.
+     * При смене пароля или email увеличивается версия токенов пользователя, поэтому ранее выданные токены
+     * отклоняются, а его запись в {@link UserDetailsCache} сбрасывается после фиксации.
      *
      * @param userData DTO с новыми данными пользователя {@link UserUpdateDTO}
      * @param id       идентификатор обновляемого пользователя
-     * @return DTO обновлённого пользователя {@link UserDTO}
-     * @throws ResourceNotFoundException если пользователь с указанным идентификатором не найден
+     * @param ifMatch  значение заголовка {@code If-Match} или null
+     * @return DTO обновлённого пользователя {@link UserDTO} с новой версией
+     * @throws ResourceNotFoundException   если пользователь с указанным идентификатором не найден
+     * @throws PreconditionFailedException если версия пользователя не совпадает с {@code ifMatch}
      */
     @Transactional
-    public UserDTO update(UserUpdateDTO userData, Long id) {
+    public UserDTO update(UserUpdateDTO userData, Long id, String ifMatch) {
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        ETags.checkIfMatch(ifMatch, ETags.of(user.getId(), user.getVersion()));
 
+        var email = user.getEmail();
+        var password = user.getPassword();
         userMapper.update(userData, user);
 
         userData.getPassword().ifPresent(rawPassword -> {
@@ -91,25 +128,42 @@ public class UserServiceImpl implements UserService {
             }
         });
 
+        var credentialsChanged = !Objects.equals(email, user.getEmail())
+                || !Objects.equals(password, user.getPassword());
+        if (credentialsChanged) {
+            user.setTokenVersion(Objects.requireNonNullElse(user.getTokenVersion(), 0L) + 1);
+        }
 
-        userRepository.save(user);
+        userRepository.saveAndFlush(user);
+        if (credentialsChanged) {
+            var newEmail = user.getEmail();
+            TransactionUtils.afterCommit(() -> {
+                userDetailsCache.evict(id);
+                userDetailsCache.evictUnknown(newEmail);
+            });
+        }
         return userMapper.map(user);
     }
 
     /**
      * Удаляет пользователя по его идентификатору.
      * Перед удалением проверяет, назначены ли пользователю какие-либо задачи.
+     * Ранее выданные токены пользователя перестают приниматься, а его запись в {@link UserDetailsCache}
+     * сбрасывается.
      *
-     * @param id идентификатор удаляемого пользователя
-     * @throws ResourceNotFoundException если пользователь назначен исполнителем задач или не найден
+     * @param id      идентификатор удаляемого пользователя
+     * @param ifMatch значение заголовка {@code If-Match} или null
+     * @throws ResourceNotFoundException   если пользователь назначен исполнителем задач или не найден
+     * @throws PreconditionFailedException если версия пользователя не совпадает с {@code ifMatch}
      */
     @Transactional
     @Override
-    public void delete(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found");
-        }
+    public void delete(Long id, String ifMatch) {
+        var user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        ETags.checkIfMatch(ifMatch, ETags.of(user.getId(), user.getVersion()));
 
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        TransactionUtils.afterCommit(() -> userDetailsCache.evict(id));
     }
 }
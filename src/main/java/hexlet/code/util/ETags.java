@@ -0,0 +1,98 @@
+package hexlet.code.util;
+
+import hexlet.code.exception.PreconditionFailedException;
+import org.springframework.http.CacheControl;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Вспомогательные методы для построения заголовков ETag условных GET-запросов.
+ */
+public final class ETags {
+
+    /**
+     * Политика кеширования ответов с ETag: клиент может хранить ответ,
+     * но обязан перепроверять его условным запросом ({@code If-None-Match}) перед каждым использованием.
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    /**
+     * Создаёт сильный ETag: ответ с ним побайтово совпадает с любым другим ответом с тем же тегом.
+     *
+     * @param parts составные части версии ресурса
+     * @return значение заголовка ETag в кавычках
+     */
+    public static String strong(Object... parts) {
+        return "\"" + Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("-")) + "\"";
+    }
+
+    /**
+     * Создаёт сильный ETag сущности по её идентификатору и версии ({@code @Version}).
+     *
+     * @param id      идентификатор сущности
+     * @param version версия сущности
+     * @return значение заголовка ETag в кавычках
+     */
+    public static String of(Long id, Long version) {
+        return strong(id, version);
+    }
+
+    /**
+     * Создаёт сильный ETag сущности, представление которой включает данные связанной сущности
+     * (например, slug статуса в задаче): тег меняется при изменении любой из них.
+     *
+     * @param id             идентификатор сущности
+     * @param version        версия сущности
+     * @param relatedVersion версия связанной сущности
+     * @return значение заголовка ETag в кавычках
+     */
+    public static String of(Long id, Long version, Long relatedVersion) {
+        return strong(id, version, relatedVersion);
+    }
+
+    /**
+     * Проверяет заголовок {@code If-Match} изменяющего запроса по текущему ETag сущности.
+     * Сравнение сильное: слабые теги не совпадают никогда, {@code *} совпадает с любой версией.
+     *
+     * @param ifMatch значение заголовка {@code If-Match} или null, если заголовок не передан
+     * @param current текущий ETag сущности
+     * @throws PreconditionFailedException если заголовок передан и ни один тег не совпал
+     */
+    public static void checkIfMatch(String ifMatch, String current) {
+        if (ifMatch == null) {
+            return;
+        }
+        var matched = Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> "*".equals(tag) || tag.equals(current));
+        if (!matched) {
+            throw new PreconditionFailedException("Resource has been modified, current ETag is " + current);
+        }
+    }
+
+    /**
+     * Создаёт слабый ETag: ответы с ним семантически равноценны.
+     *
+     * @param parts составные части версии ресурса
+     * @return значение заголовка ETag с префиксом {@code W/}
+     */
+    public static String weak(Object... parts) {
+        return "W/" + strong(parts);
+    }
+
+    /**
+     * Переводит момент времени в число микросекунд от начала эпохи — точность хранения временных меток в БД.
+     *
+     * @param instant момент времени или null
+     * @return количество микросекунд или 0 для null
+     */
+    public static long micros(Instant instant) {
+        return instant == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+}
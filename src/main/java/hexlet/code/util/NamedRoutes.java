@@ -28,6 +28,13 @@ public final class NamedRoutes {
     // Задачи (Tasks)
     public static final String TASKS = API + "/tasks";
     public static final String TASK_ID = "/{id}";
+    public static final String TASKS_EXPORT = "/export";
+    public static final String TASKS_BULK = "/bulk";
+    public static final String TASKS_STATS = "/stats";
+    public static final String TASKS_COUNTS = "/counts";
+
+    // Канбан-доска
+    public static final String BOARD = API + "/board";
 
     // Методы для построения путей (полезно для тестов или редиректов)
     public static String userPath(Long id) {
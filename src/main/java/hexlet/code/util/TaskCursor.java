@@ -0,0 +1,64 @@
+package hexlet.code.util;
+
+import hexlet.code.dto.Task.TaskDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Позиция курсора для keyset-пагинации задач.
+ * Курсор указывает на последнюю выданную задачу по паре ({@code createdAt}, {@code id})
+ * и передаётся клиенту в виде непрозрачной строки (Base64 URL-safe).
+ */
+@Getter
+@AllArgsConstructor
+public final class TaskCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private final Instant createdAt;
+    private final Long id;
+
+    /**
+     * Создаёт курсор, указывающий на переданную задачу.
+     *
+     * @param task последняя задача текущей страницы
+     * @return курсор для запроса следующей страницы
+     */
+    public static TaskCursor of(TaskDTO task) {
+        return new TaskCursor(task.getCreatedAt(), task.getId());
+    }
+
+    /**
+     * Кодирует курсор в непрозрачную строку для передачи клиенту.
+     *
+     * @return строковое представление курсора
+     */
+    public String encode() {
+        var raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Декодирует курсор, полученный от клиента.
+     *
+     * @param value строковое представление курсора
+     * @return декодированный курсор
+     * @throws ResponseStatusException с кодом 400 (BAD_REQUEST), если курсор повреждён
+     */
+    public static TaskCursor decode(String value) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            var separatorIndex = raw.lastIndexOf(SEPARATOR);
+            var createdAt = Instant.parse(raw.substring(0, separatorIndex));
+            var id = Long.parseLong(raw.substring(separatorIndex + 1));
+            return new TaskCursor(createdAt, id);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package hexlet.code.util;
 
+import hexlet.code.component.CurrentUser;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,23 +16,21 @@ import org.springframework.stereotype.Component;
 public class UserUtils {
 
     private final UserRepository userRepository;
+    private final CurrentUser currentUser;
 
 
     /**
-     * Получает сведения о текущем аутентифицированном пользователе из SecurityContext.
-     * Извлекает email из объекта Authentication и находит соответствующего пользователя в базе данных.
+     * Получает сведения о текущем аутентифицированном пользователе.
+     * Идентификатор берётся из {@link CurrentUser}, определённого один раз за запрос.
+     * Возвращается ленивая ссылка Hibernate: идентификатор доступен без запроса к базе данных,
+     * остальные поля загружаются при первом обращении.
      *
-     * @return объект {@link User}, представляющий текущего аутентифицированного пользователя
-     * @throws ResourceNotFoundException если пользователь не аутентифицирован
-     * или пользователь с указанным email не найден в базе данных
+     * @return объект {@link User}, представляющий текущего аутентифицированного пользователя,
+     * или null, если запрос не аутентифицирован
+     * @throws ResourceNotFoundException если пользователь с email из аутентификации не найден в базе данных
      */
     public User getCurrentUser() {
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return null;
-        }
-        var email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        var id = currentUser.getId();
+        return id == null ? null : userRepository.getReferenceById(id);
     }
 }
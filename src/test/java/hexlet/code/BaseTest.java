@@ -1,8 +1,10 @@
 package hexlet.code;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.UserDetailsCache;
 import hexlet.code.config.JwtUtil;
 import hexlet.code.config.MyUserDetailsService;
+import hexlet.code.config.UserPrincipal;
 import hexlet.code.model.User;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
@@ -58,6 +60,9 @@ public abstract class BaseTest {
     @Autowired
     protected LabelRepository labelRepository;
 
+    @Autowired
+    protected UserDetailsCache userDetailsCache;
+
 
     /**
      * Создаёт JWT-токен для указанного пользователя.
@@ -67,13 +72,19 @@ public abstract class BaseTest {
      * @return строка токена в формате "Bearer {token}"
      */
     protected String getAuthToken(User user) {
-        var userDetails = org.springframework.security.core.userdetails.User.withUsername(user.getEmail())
-                .password(user.getPassword())
-                .authorities(Collections.emptyList())
-                .build();
+        var userDetails = new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(),
+                user.getTokenVersion(), Collections.emptyList());
         return "Bearer " + jwtUtil.generateToken(userDetails);
     }
 
+    /**
+     * Сбрасывает кэш пользователей: тесты пересоздают пользователей напрямую через репозиторий, в обход сервиса.
+     */
+    @BeforeEach
+    public void resetUserDetailsCache() {
+        userDetailsCache.evictAll();
+    }
+
     /**
      * Подготовка данных перед каждым тестовым методом.
      * Проверяет наличие тестового пользователя в базе данных.
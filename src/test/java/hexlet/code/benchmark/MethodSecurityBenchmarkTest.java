@@ -0,0 +1,98 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.BaseTest;
+import hexlet.code.config.UserPrincipal;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Стоимость проверки прав {@code @PreAuthorize} на изменение собственного профиля:
+ * прежнее выражение с загрузкой пользователя из репозитория и сравнением email
+ * против {@code @authorizer.isSelf(#id)}, сравнивающего идентификатор из principal без обращения к БД.
+ * Для сравнения выводится и вызов того же метода без проверки прав. Каждый вызов выполняется
+ * в новом контексте запроса, поэтому текущий пользователь определяется заново, как в реальном запросе.
+ * Не входит в обычный прогон тестов; запуск: {@code ./gradlew benchmark -Dbenchmark.authz.iterations=200000}.
+ */
+@Tag("benchmark")
+public class MethodSecurityBenchmarkTest extends BaseTest {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.authz.iterations", 50_000);
+
+    @Autowired
+    private GuardedMethods guarded;
+
+    @Test
+    public void compareSelfChecks() {
+        var user = userRepository.findByEmail("hexlet1@example.com").get();
+        var principal = new UserPrincipal(user.getId(), user.getEmail(), "", user.getTokenVersion(), List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        try {
+            var unguardedNanos = measure(guarded::unguarded, user.getId());
+            var repositoryNanos = measure(guarded::repositoryExpression, user.getId());
+            var authorizerNanos = measure(guarded::authorizer, user.getId());
+
+            System.out.printf("iterations=%d: no check %.2f us/op, repository SpEL %.2f us/op, "
+                            + "@authorizer.isSelf %.2f us/op%n",
+                    ITERATIONS, unguardedNanos / 1000.0, repositoryNanos / 1000.0, authorizerNanos / 1000.0);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static double measure(LongConsumer call, long id) {
+        // прогрев JIT
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            inNewRequest(call, id);
+        }
+        var started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            inNewRequest(call, id);
+        }
+        return (double) (System.nanoTime() - started) / ITERATIONS;
+    }
+
+    private static void inNewRequest(LongConsumer call, long id) {
+        var attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            call.accept(id);
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        GuardedMethods guardedMethods() {
+            return new GuardedMethods();
+        }
+    }
+
+    static class GuardedMethods {
+
+        public void unguarded(long id) {
+        }
+
+        @PreAuthorize("@userRepository.findById(#id).get().getEmail() == authentication.name")
+        public void repositoryExpression(long id) {
+        }
+
+        @PreAuthorize("@authorizer.isSelf(#id)")
+        public void authorizer(long id) {
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.BaseTest;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.util.NamedRoutes;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Пропускная способность создания задач: последовательные {@code POST /api/tasks}
+ * против {@code POST /api/tasks/bulk} пачками по {@code app.tasks.bulk.max-items}.
+ * Не входит в обычный прогон тестов; запуск: {@code ./gradlew benchmark -Dbenchmark.bulkTasks=5000}.
+ */
+@Tag("benchmark")
+public class TaskBulkCreateBenchmarkTest extends BaseTest {
+
+    private static final int TASKS = Integer.getInteger("benchmark.bulkTasks", 2_000);
+    private static final int BULK_SIZE = 1_000;
+
+    @Test
+    public void compareSingleAndBulkCreate() throws Exception {
+        var status = new TaskStatus();
+        status.setName("Benchmark");
+        status.setSlug("benchmark");
+        taskStatusRepository.save(status);
+
+        var label = new Label();
+        label.setName("benchmark");
+        labelRepository.save(label);
+
+        var assigneeId = userRepository.findByEmail("hexlet1@example.com").orElseThrow().getId();
+        List<Map<String, Object>> items = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            items.add(Map.of("title", "Task " + i, "content", "Description " + i, "status", status.getSlug(),
+                    "assignee_id", assigneeId, "taskLabelIds", List.of(label.getId())));
+        }
+
+        var singleStartedAt = System.nanoTime();
+        for (var item : items) {
+            mockMvc.perform(post(NamedRoutes.TASKS)
+                            .header("Authorization", token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(item)))
+                    .andExpect(status().isCreated());
+        }
+        var singleElapsed = System.nanoTime() - singleStartedAt;
+
+        var bulkStartedAt = System.nanoTime();
+        for (int from = 0; from < TASKS; from += BULK_SIZE) {
+            mockMvc.perform(post(NamedRoutes.TASKS + NamedRoutes.TASKS_BULK)
+                            .header("Authorization", token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(items.subList(from, Math.min(from + BULK_SIZE, TASKS)))))
+                    .andExpect(status().isOk());
+        }
+        var bulkElapsed = System.nanoTime() - bulkStartedAt;
+
+        assertThat(taskRepository.count()).isEqualTo(2L * TASKS);
+        System.out.printf("tasks=%d: single %8.1f tasks/s, bulk %8.1f tasks/s, speedup x%.1f%n",
+                TASKS, TASKS / (singleElapsed / 1e9), TASKS / (bulkElapsed / 1e9),
+                (double) singleElapsed / bulkElapsed);
+    }
+}
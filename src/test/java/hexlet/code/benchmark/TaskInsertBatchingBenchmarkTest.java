@@ -0,0 +1,79 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.BaseTest;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Пропускная способность вставки задач через Hibernate с пакетной отправкой INSERT
+ * ({@code hibernate.jdbc.batch_size}) и без неё (размер пакета 1 — так вела себя вставка
+ * при ключах IDENTITY, когда каждый INSERT выполнялся немедленно).
+ * Не входит в обычный прогон тестов; запуск: {@code ./gradlew benchmark -Dbenchmark.insertTasks=20000}.
+ */
+@Tag("benchmark")
+public class TaskInsertBatchingBenchmarkTest extends BaseTest {
+
+    private static final int TASKS = Integer.getInteger("benchmark.insertTasks", 10_000);
+    private static final int FLUSH_EVERY = 1_000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void compareInsertThroughput() {
+        var status = new TaskStatus();
+        status.setName("Benchmark");
+        status.setSlug("benchmark");
+        taskStatusRepository.save(status);
+
+        var label = new Label();
+        label.setName("benchmark");
+        labelRepository.save(label);
+
+        var unbatched = insert(status, label, 1);
+        var batched = insert(status, label, null);
+
+        assertThat(taskRepository.count()).isEqualTo(2L * TASKS);
+        System.out.printf("tasks=%d: one INSERT per statement %8.1f tasks/s, JDBC batching %8.1f tasks/s,"
+                + " speedup x%.1f%n", TASKS, TASKS / (unbatched / 1e9), TASKS / (batched / 1e9),
+                (double) unbatched / batched);
+    }
+
+    private long insert(TaskStatus status, Label label, Integer jdbcBatchSize) {
+        var transaction = new TransactionTemplate(transactionManager);
+        var startedAt = System.nanoTime();
+        transaction.executeWithoutResult(tx -> {
+            // null — размер пакета из hibernate.jdbc.batch_size
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            var managedStatus = entityManager.getReference(TaskStatus.class, status.getId());
+            var managedLabel = entityManager.getReference(Label.class, label.getId());
+            for (int i = 0; i < TASKS; i++) {
+                var task = new Task();
+                task.setName("Task " + i);
+                task.setTaskStatus(managedStatus);
+                task.getLabels().add(managedLabel);
+                entityManager.persist(task);
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    managedStatus = entityManager.getReference(TaskStatus.class, status.getId());
+                    managedLabel = entityManager.getReference(Label.class, label.getId());
+                }
+            }
+        });
+        return System.nanoTime() - startedAt;
+    }
+}
@@ -0,0 +1,125 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.BaseTest;
+import hexlet.code.component.TaskSpecification;
+import hexlet.code.dto.Task.TaskDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskJdbcRepository;
+import hexlet.code.util.OffsetPageRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнение двух путей чтения списка задач: через управляемые сущности с маппингом MapStruct
+ * и через DTO-проекцию {@link hexlet.code.repository.TaskRepository#findAllProjected}.
+ * Для каждого пути выводится среднее время и объём выделенной памяти на одну страницу.
+ * Не входит в обычный прогон тестов; запуск: {@code ./gradlew benchmark}.
+ * Размер данных и число итераций задаются свойствами {@code -Dbenchmark.tasks},
+ * {@code -Dbenchmark.pageSize} и {@code -Dbenchmark.iterations}.
+ */
+@Tag("benchmark")
+public class TaskReadPathBenchmarkTest extends BaseTest {
+
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 10_000);
+    private static final int PAGE_SIZE = Integer.getInteger("benchmark.pageSize", 500);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 50);
+    private static final int WARMUP_ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskSpecification taskSpecification;
+
+    @Autowired
+    private TaskMapper mapper;
+
+    @Test
+    public void compareEntityAndProjectionReadPaths() {
+        seed();
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        var spec = taskSpecification.build(new TaskParamsDTO());
+        var sort = Sort.by(Sort.Direction.ASC, "createdAt", "id");
+
+        Supplier<List<TaskDTO>> entityPath = () -> readOnly.execute(status -> taskRepository
+                .findBy(spec, query -> query.project("taskStatus", "assignee").sortBy(sort).limit(PAGE_SIZE).all())
+                .stream()
+                .map(mapper::map)
+                .toList());
+        Supplier<List<TaskDTO>> projectionPath = () -> readOnly.execute(status -> taskRepository
+                .findAllProjected(spec, new OffsetPageRequest(0, PAGE_SIZE, sort)));
+
+        assertThat(projectionPath.get()).isEqualTo(entityPath.get());
+
+        measure("entity + MapStruct", entityPath);
+        measure("DTO projection", projectionPath);
+    }
+
+    private void measure(String name, Supplier<List<TaskDTO>> path) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            path.get();
+        }
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().threadId();
+
+        var allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        var startedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.get();
+        }
+        var elapsed = System.nanoTime() - startedAt;
+        var allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%-20s tasks=%d page=%d: %8.3f ms/op, %10d KB allocated/op%n",
+                name, TASKS, PAGE_SIZE, elapsed / 1e6 / ITERATIONS, allocated / 1024 / ITERATIONS);
+    }
+
+    private void seed() {
+        var status = new TaskStatus();
+        status.setName("Benchmark");
+        status.setSlug("benchmark");
+        taskStatusRepository.save(status);
+
+        var label = new Label();
+        label.setName("benchmark");
+        labelRepository.save(label);
+
+        var assignee = userRepository.findByEmail("hexlet1@example.com").orElseThrow();
+        var createdAt = Instant.now();
+        var tasks = new ArrayList<Task>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            var task = new Task();
+            task.setName("Task " + i);
+            task.setDescription("Description " + i);
+            task.setTaskStatus(status);
+            task.setAssignee(assignee);
+            task.setCreatedAt(createdAt.plusMillis(i));
+            tasks.add(task);
+        }
+        taskJdbcRepository.insertAll(tasks);
+        jdbcTemplate.update("INSERT INTO task_labels (task_id, label_id) SELECT id, ? FROM tasks", label.getId());
+    }
+}
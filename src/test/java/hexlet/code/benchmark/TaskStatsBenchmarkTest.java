@@ -0,0 +1,98 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.BaseTest;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskJdbcRepository;
+import hexlet.code.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Задержка {@code /api/tasks/stats} на больших таблицах: без фильтров и с фильтром по статусу.
+ * Задачи равномерно распределены по нескольким статусам и меткам, половина — без исполнителя.
+ * Не входит в обычный прогон тестов; запуск: {@code ./gradlew benchmark}.
+ * Размер таблицы задаётся свойством {@code -Dbenchmark.statsSize} (по умолчанию {@code 1000000}).
+ */
+@Tag("benchmark")
+public class TaskStatsBenchmarkTest extends BaseTest {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int SIZE = Integer.getInteger("benchmark.statsSize", 1_000_000);
+    private static final int BATCH_SIZE = 10_000;
+    private static final int GROUPS = 5;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Test
+    public void measureStatsLatency() {
+        var statuses = new ArrayList<TaskStatus>();
+        var labels = new ArrayList<Label>();
+        for (int i = 0; i < GROUPS; i++) {
+            var status = new TaskStatus();
+            status.setName("Benchmark " + i);
+            status.setSlug("benchmark_" + i);
+            statuses.add(taskStatusRepository.save(status));
+
+            var label = new Label();
+            label.setName("benchmark " + i);
+            labels.add(labelRepository.save(label));
+        }
+        var assignee = userRepository.findByEmail("hexlet1@example.com").orElseThrow();
+        insertTasks(statuses, labels, assignee);
+
+        var all = new TaskParamsDTO();
+        assertThat(taskService.getStats(all).getTotal()).isEqualTo(SIZE);
+
+        var byStatus = new TaskParamsDTO();
+        byStatus.setStatus("benchmark_0");
+        assertThat(taskService.getStats(byStatus).getTotal()).isEqualTo((SIZE + GROUPS - 1) / GROUPS);
+
+        System.out.printf("tasks=%d: stats %8.3f ms/op, stats?status %8.3f ms/op%n",
+                SIZE, time(() -> taskService.getStats(all)), time(() -> taskService.getStats(byStatus)));
+    }
+
+    private static double time(Runnable action) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            action.run();
+        }
+        var startedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - startedAt) / 1e6 / ITERATIONS;
+    }
+
+    private void insertTasks(List<TaskStatus> statuses, List<Label> labels, User assignee) {
+        var createdAt = Instant.now();
+        var tasks = new ArrayList<Task>(BATCH_SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            var task = new Task();
+            task.setName("Task " + i);
+            task.setTaskStatus(statuses.get(i % GROUPS));
+            task.getLabels().add(labels.get(i / GROUPS % GROUPS));
+            if (i % 2 == 0) {
+                task.setAssignee(assignee);
+            }
+            task.setCreatedAt(createdAt);
+            tasks.add(task);
+            if (tasks.size() == BATCH_SIZE || i == SIZE - 1) {
+                taskJdbcRepository.insertAll(tasks);
+                tasks.clear();
+            }
+        }
+    }
+}
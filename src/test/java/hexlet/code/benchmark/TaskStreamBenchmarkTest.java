@@ -0,0 +1,83 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.BaseTest;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskJdbcRepository;
+import hexlet.code.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Пиковое потребление кучи при выгрузке всех задач: полным списком ({@code getAll} без пагинации)
+ * и потоковым обходом ({@code forEach}, режим {@code GET /api/tasks?stream=true}).
+ * Не входит в обычный прогон тестов; запуск: {@code ./gradlew benchmark -Dbenchmark.tasks=1000000}.
+ */
+@Tag("benchmark")
+public class TaskStreamBenchmarkTest extends BaseTest {
+
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 200_000);
+    private static final int BATCH_SIZE = 10_000;
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    public void comparePeakHeap() {
+        seed();
+        var params = new TaskParamsDTO();
+
+        var listPeak = peakHeap(() -> assertThat(taskService.getAll(params, Pageable.unpaged(), false)
+                .getContent()).hasSize(TASKS));
+        var streamed = new AtomicLong();
+        var streamPeak = peakHeap(() -> taskService.forEach(params, task -> streamed.incrementAndGet()));
+        assertThat(streamed).hasValue(TASKS);
+
+        System.out.printf("tasks=%d: full list peak heap %d MB, streaming peak heap %d MB%n",
+                TASKS, listPeak / 1024 / 1024, streamPeak / 1024 / 1024);
+    }
+
+    private static long peakHeap(Runnable action) {
+        var pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        System.gc();
+        pools.forEach(pool -> pool.resetPeakUsage());
+        action.run();
+        return pools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    private void seed() {
+        var status = new TaskStatus();
+        status.setName("Benchmark");
+        status.setSlug("benchmark");
+        taskStatusRepository.save(status);
+
+        var createdAt = Instant.now();
+        var tasks = new ArrayList<Task>(BATCH_SIZE);
+        for (int i = 0; i < TASKS; i++) {
+            var task = new Task();
+            task.setName("Task " + i);
+            task.setDescription("Description of task " + i);
+            task.setTaskStatus(status);
+            task.setCreatedAt(createdAt);
+            tasks.add(task);
+            if (tasks.size() == BATCH_SIZE || i == TASKS - 1) {
+                taskJdbcRepository.insertAll(tasks);
+                tasks.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.BaseTest;
+import hexlet.code.component.TaskTitleIndex;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskJdbcRepository;
+import hexlet.code.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Задержка фильтра {@code titleCont} на больших таблицах.
+ * Каждая тысячная задача содержит в названии слово {@code needle}; замеряется редкий запрос
+ * (сужается индексом названий) и частый (совпадает со всеми строками, остаётся только {@code LIKE}),
+ * а для сравнения — тот же редкий запрос чистым {@code LIKE} без индекса.
+ * Не входит в обычный прогон тестов; запуск: {@code ./gradlew benchmark}.
+ * Размеры таблицы задаются свойством {@code -Dbenchmark.searchSizes} (по умолчанию {@code 100000,1000000}).
+ */
+@Tag("benchmark")
+public class TaskTitleSearchBenchmarkTest extends BaseTest {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 50);
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Autowired
+    private TaskTitleIndex titleIndex;
+
+    @Test
+    public void measureTitleSearchLatency() {
+        var status = new TaskStatus();
+        status.setName("Benchmark");
+        status.setSlug("benchmark");
+        taskStatusRepository.save(status);
+
+        var sizes = Arrays.stream(System.getProperty("benchmark.searchSizes", "100000,1000000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .sorted()
+                .toArray();
+
+        var inserted = 0;
+        for (var size : sizes) {
+            insertTasks(inserted, size, status);
+            inserted = size;
+            titleIndex.rebuild();
+
+            var rare = measure("needle", size);
+            var common = measure("task", size);
+            var scan = measureLikeOnly("needle");
+            System.out.printf("tasks=%d: titleCont=needle %8.3f ms/op, titleCont=task %8.3f ms/op,"
+                    + " plain LIKE needle %8.3f ms/op%n", size, rare, common, scan);
+        }
+    }
+
+    private double measure(String term, int size) {
+        var params = new TaskParamsDTO();
+        params.setTitleCont(term);
+        var pageable = PageRequest.of(0, 50);
+
+        var expected = "needle".equals(term) ? size / 1000 : size;
+        assertThat(taskService.getAll(params, pageable, false).getTotalElements()).isEqualTo(expected);
+        return time(() -> taskService.getAll(params, pageable, false));
+    }
+
+    private double measureLikeOnly(String term) {
+        return time(() -> jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE lower(name) LIKE ? LIMIT 50", Long.class, "%" + term + "%"));
+    }
+
+    private static double time(Runnable action) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            action.run();
+        }
+        var startedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - startedAt) / 1e6 / ITERATIONS;
+    }
+
+    private void insertTasks(int from, int to, TaskStatus status) {
+        var createdAt = Instant.now();
+        var tasks = new ArrayList<Task>(BATCH_SIZE);
+        for (int i = from; i < to; i++) {
+            var task = new Task();
+            task.setName(i % 1000 == 0 ? "Task " + i + " needle" : "Task " + i + " " + Long.toString(i * 7919L, 36));
+            task.setTaskStatus(status);
+            task.setCreatedAt(createdAt);
+            tasks.add(task);
+            if (tasks.size() == BATCH_SIZE || i == to - 1) {
+                taskJdbcRepository.insertAll(tasks);
+                tasks.clear();
+            }
+        }
+    }
+}
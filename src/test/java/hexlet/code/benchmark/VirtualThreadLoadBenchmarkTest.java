@@ -0,0 +1,163 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.config.JwtUtil;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.NamedRoutes;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Пропускная способность и p99-задержка HTTP API под нагрузкой при обработке запросов
+ * пулом платформенных потоков Tomcat и виртуальными потоками ({@code spring.threads.virtual.enabled}).
+ * Для каждого режима поднимается отдельный экземпляр приложения на случайном порту со своей БД,
+ * и {@code benchmark.vt.concurrency} клиентов выполняют {@code benchmark.vt.requests} запросов
+ * (попеременно страница списка задач и отдельная задача).
+ * Со встроенной H2 запросы почти не ждут ввода-вывода, поэтому разница здесь меньше, чем с PostgreSQL по сети.
+ * Не входит в обычный прогон тестов; запуск: {@code ./gradlew benchmark -Dbenchmark.vt.concurrency=1000}.
+ */
+@Tag("benchmark")
+public class VirtualThreadLoadBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.vt.concurrency", 800);
+    private static final int REQUESTS = Integer.getInteger("benchmark.vt.requests", 40_000);
+    private static final int TASKS = 200;
+
+    @Test
+    public void compareThreadModes() throws Exception {
+        var platform = run(false);
+        var virtual = run(true);
+
+        System.out.printf("concurrency=%d, requests=%d%n", CONCURRENCY, REQUESTS);
+        System.out.println("platform threads: " + platform);
+        System.out.println("virtual threads:  " + virtual);
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        var properties = new ArrayList<String>();
+        properties.add("server.port=0");
+        properties.add("spring.threads.virtual.enabled=" + virtualThreads);
+        properties.add("spring.jpa.show-sql=false");
+        properties.add("ADMIN_PASSWORD=password123");
+        properties.add("spring.datasource.url=jdbc:h2:mem:vt-" + virtualThreads + ";DB_CLOSE_DELAY=-1");
+
+        try (var context = new SpringApplicationBuilder(AppApplication.class)
+                .properties(properties.toArray(String[]::new))
+                .run()) {
+            var token = seed(context);
+            var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            var taskIds = context.getBean(TaskRepository.class).findAll().stream().map(Task::getId).toList();
+            return load("http://localhost:" + port, token, taskIds);
+        }
+    }
+
+    private static String seed(ConfigurableApplicationContext context) {
+        var userRepository = context.getBean(UserRepository.class);
+        var user = userRepository.findByEmail("load@example.com").orElseGet(() -> {
+            var newUser = new User();
+            newUser.setEmail("load@example.com");
+            newUser.setPassword("password");
+            return userRepository.save(newUser);
+        });
+
+        var status = new TaskStatus();
+        status.setName("Load " + System.nanoTime());
+        status.setSlug("load_" + System.nanoTime());
+        context.getBean(TaskStatusRepository.class).save(status);
+
+        var taskRepository = context.getBean(TaskRepository.class);
+        for (int i = 0; i < TASKS; i++) {
+            var task = new Task();
+            task.setName("Load task " + i);
+            task.setDescription("Description of load task " + i);
+            task.setTaskStatus(status);
+            taskRepository.save(task);
+        }
+
+        var userDetails = org.springframework.security.core.userdetails.User.withUsername(user.getEmail())
+                .password(user.getPassword())
+                .authorities(Collections.emptyList())
+                .build();
+        return "Bearer " + context.getBean(JwtUtil.class).generateToken(userDetails);
+    }
+
+    private static Result load(String baseUrl, String token, List<Long> taskIds) throws Exception {
+        var latencies = new long[REQUESTS];
+        var permits = new Semaphore(CONCURRENCY);
+        try (var client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // прогрев: JIT, пулы соединений и кэши приложения
+            for (int i = 0; i < 500; i++) {
+                send(client, request(baseUrl, token, taskIds, i));
+            }
+
+            var futures = new ArrayList<Future<?>>(REQUESTS);
+            var started = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                var number = i;
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        var requestStarted = System.nanoTime();
+                        send(client, request(baseUrl, token, taskIds, number));
+                        latencies[number] = System.nanoTime() - requestStarted;
+                        return null;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+            var elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies);
+            return new Result(REQUESTS * 1_000_000_000.0 / elapsed,
+                    latencies[REQUESTS / 2] / 1_000_000.0,
+                    latencies[(int) (REQUESTS * 0.99) - 1] / 1_000_000.0);
+        }
+    }
+
+    private static HttpRequest request(String baseUrl, String token, List<Long> taskIds, int number) {
+        var path = number % 2 == 0
+                ? NamedRoutes.TASKS + "?limit=20"
+                : NamedRoutes.taskPath(taskIds.get(number % taskIds.size()));
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", token)
+                .GET()
+                .build();
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws Exception {
+        var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50 %.1f ms, p99 %.1f ms", throughput, p50Millis, p99Millis);
+        }
+    }
+}
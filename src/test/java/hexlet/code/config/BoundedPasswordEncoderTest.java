@@ -0,0 +1,54 @@
+package hexlet.code.config;
+
+import hexlet.code.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedPasswordEncoderTest {
+
+    @Test
+    public void testEncodeAndMatch() {
+        var encoder = new BoundedPasswordEncoder(4, 1, 1, false, Duration.ZERO, new SimpleMeterRegistry());
+        try {
+            var hash = encoder.encode("password");
+
+            assertThat(encoder.matches("password", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    public void testSaturatedPoolRejects() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        // один поток и одно место в очереди; хеш стоимостью 12 считается сотни миллисекунд
+        var encoder = new BoundedPasswordEncoder(12, 1, 1, false, Duration.ZERO, registry);
+        var rejections = 0;
+        try (var callers = Executors.newFixedThreadPool(8)) {
+            var results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> encoder.encode("password")));
+            }
+            for (var result : results) {
+                try {
+                    assertThat(result.get()).startsWith("$2a$12$");
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(TooManyRequestsException.class);
+                    rejections++;
+                }
+            }
+        } finally {
+            encoder.destroy();
+        }
+
+        assertThat(rejections).isPositive();
+        assertThat(registry.get("password.hashing.rejected").counter().count()).isEqualTo(rejections);
+    }
+}
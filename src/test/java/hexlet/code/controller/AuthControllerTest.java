@@ -64,4 +64,38 @@ public final class AuthControllerTest extends BaseTest {
                         .content(om.writeValueAsString(data)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    public void testLoginTokenCarriesUserId() throws Exception {
+        var user = userRepository.findByEmail("hexlet1@example.com").get();
+        var data = Map.of(
+                "username", "hexlet1@example.com",
+                "password", "password"
+        );
+
+        var jwt = mockMvc.perform(post(NamedRoutes.API + NamedRoutes.LOGIN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(data)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(jwtUtil.toPrincipal(jwtUtil.parse(jwt)).getId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    public void testLoginUnknownUser() throws Exception {
+        var data = Map.of(
+                "username", "nobody@example.com",
+                "password", "password"
+        );
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post(NamedRoutes.API + NamedRoutes.LOGIN)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(data)))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
 }
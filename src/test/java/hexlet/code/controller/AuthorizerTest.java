@@ -0,0 +1,82 @@
+package hexlet.code.controller;
+
+import hexlet.code.BaseTest;
+import hexlet.code.component.Authorizer;
+import hexlet.code.config.UserPrincipal;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты проверок прав {@link Authorizer} для текущего пользователя запроса.
+ */
+public class AuthorizerTest extends BaseTest {
+
+    @Autowired
+    private Authorizer authorizer;
+
+    private User user;
+
+    private TaskStatus status;
+
+    @BeforeEach
+    public void authenticate() {
+        user = userRepository.findByEmail("hexlet1@example.com").get();
+        var principal = new UserPrincipal(user.getId(), user.getEmail(), "", user.getTokenVersion(), List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        status = new TaskStatus();
+        status.setName("Draft");
+        status.setSlug("draft");
+        taskStatusRepository.save(status);
+    }
+
+    @AfterEach
+    public void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testIsAuthor() {
+        var own = createTask("Own", user);
+        var unassigned = createTask("Unassigned", null);
+
+        assertThat(authorizer.isAuthor(own.getId())).isTrue();
+        assertThat(authorizer.isAuthor(unassigned.getId())).isFalse();
+        assertThatThrownBy(() -> authorizer.isAuthor(unassigned.getId() + 1000))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void testIsSelf() {
+        assertThat(authorizer.isSelf(user.getId())).isTrue();
+        assertThat(authorizer.isSelf(user.getId() + 1000)).isFalse();
+    }
+
+    @Test
+    public void testDeleteMissingUserIsForbidden() throws Exception {
+        mockMvc.perform(delete("/api/users/" + (user.getId() + 1000)).header("Authorization", token))
+                .andExpect(status().isForbidden());
+    }
+
+    private Task createTask(String name, User assignee) {
+        var task = new Task();
+        task.setName(name);
+        task.setTaskStatus(status);
+        task.setAssignee(assignee);
+        return taskRepository.save(task);
+    }
+}
@@ -0,0 +1,78 @@
+package hexlet.code.controller;
+
+import hexlet.code.BaseTest;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.util.NamedRoutes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Интеграционные тесты для контроллера {@link hexlet.code.controller.BoardController}.
+ * Проверяют состав колонок доски, порядок и ограничение количества задач в колонке.
+ */
+public class BoardControllerTest extends BaseTest {
+
+    private TaskStatus todo;
+    private TaskStatus done;
+    private Label label;
+
+    @BeforeEach
+    public void init() {
+        todo = new TaskStatus();
+        todo.setName("To do");
+        todo.setSlug("to_do");
+        taskStatusRepository.save(todo);
+
+        done = new TaskStatus();
+        done.setName("Done");
+        done.setSlug("done");
+        taskStatusRepository.save(done);
+
+        label = new Label();
+        label.setName("board");
+        labelRepository.save(label);
+
+        createTask("Third", 3L);
+        createTask("First", 1L);
+        createTask("Without index", null);
+        createTask("Second", 2L);
+    }
+
+    @Test
+    public void testBoard() throws Exception {
+        mockMvc.perform(get(NamedRoutes.BOARD + "?limit=3").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status.slug").value("to_do"))
+                .andExpect(jsonPath("$[0].total").value(4))
+                .andExpect(jsonPath("$[0].tasks.length()").value(3))
+                .andExpect(jsonPath("$[0].tasks[0].title").value("First"))
+                .andExpect(jsonPath("$[0].tasks[1].title").value("Second"))
+                .andExpect(jsonPath("$[0].tasks[2].title").value("Third"))
+                .andExpect(jsonPath("$[0].tasks[0].status").value("to_do"))
+                .andExpect(jsonPath("$[0].tasks[0].taskLabelIds[0]").value(label.getId()))
+                .andExpect(jsonPath("$[1].status.slug").value("done"))
+                .andExpect(jsonPath("$[1].total").value(0))
+                .andExpect(jsonPath("$[1].tasks").isEmpty());
+    }
+
+    @Test
+    public void testBoardUnauthenticated() throws Exception {
+        mockMvc.perform(get(NamedRoutes.BOARD))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private void createTask(String name, Long index) {
+        var task = new Task();
+        task.setName(name);
+        task.setIndex(index);
+        task.setTaskStatus(todo);
+        task.getLabels().add(label);
+        taskRepository.save(task);
+    }
+}
@@ -1,10 +1,14 @@
 package hexlet.code.controller;
 
 import hexlet.code.BaseTest;
+import hexlet.code.component.UserDetailsCache;
 import hexlet.code.config.JwtRequestFilter;
 import hexlet.code.config.JwtUtil;
 import hexlet.code.config.MyUserDetailsService;
+import hexlet.code.config.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,13 +21,17 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import java.io.IOException;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 public final class JwtRequestFilterTest extends BaseTest {
@@ -31,6 +39,7 @@ public final class JwtRequestFilterTest extends BaseTest {
     private JwtRequestFilter filter;
     private MyUserDetailsService userDetailsService;
     private JwtUtil jwtUtil;
+    private UserDetailsCache tokenVersions;
     private FilterChain filterChain;
 
     @BeforeEach
@@ -38,7 +47,10 @@ public final class JwtRequestFilterTest extends BaseTest {
         userDetailsService = mock(MyUserDetailsService.class);
         jwtUtil = mock(JwtUtil.class);
         filterChain = mock(FilterChain.class);
-        filter = new JwtRequestFilter(userDetailsService, jwtUtil);
+        tokenVersions = mock(UserDetailsCache.class);
+        when(tokenVersions.findById(42L))
+                .thenReturn(Optional.of(new UserDetailsCache.CachedUser(42L, "testuser", 0)));
+        filter = new JwtRequestFilter(userDetailsService, jwtUtil, tokenVersions, true);
         SecurityContextHolder.clearContext();
     }
 
@@ -85,13 +97,14 @@ public final class JwtRequestFilterTest extends BaseTest {
         request.addHeader("Authorization", "Bearer valid_token");
         MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(jwtUtil.extractUsername("valid_token")).thenReturn("user@mail.com");
+        when(jwtUtil.parse("valid_token")).thenReturn(Jwts.claims().setSubject("user@mail.com"));
 
         filter.doFilterInternal(request, response, filterChain);
 
-        // Проверяем, что существующая аутентификация не перезаписалась
+        // Проверяем, что существующая аутентификация не перезаписалась, а токен даже не разбирался
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isEqualTo(existingAuth);
         verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(jwtUtil, never()).parse(anyString());
     }
 
     @Test
@@ -100,7 +113,7 @@ public final class JwtRequestFilterTest extends BaseTest {
         request.addHeader("Authorization", "Bearer expired_token");
         MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(jwtUtil.extractUsername("expired_token")).thenThrow(ExpiredJwtException.class);
+        when(jwtUtil.parse("expired_token")).thenThrow(ExpiredJwtException.class);
 
         filter.doFilterInternal(request, response, filterChain);
 
@@ -114,7 +127,7 @@ public final class JwtRequestFilterTest extends BaseTest {
         request.addHeader("Authorization", "Bearer invalid_garbage");
         MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(jwtUtil.extractUsername("invalid_garbage")).thenThrow(new RuntimeException("Bad format"));
+        when(jwtUtil.parse("invalid_garbage")).thenThrow(new RuntimeException("Bad format"));
 
         filter.doFilterInternal(request, response, filterChain);
 
@@ -131,14 +144,103 @@ public final class JwtRequestFilterTest extends BaseTest {
         String username = "testuser";
         UserDetails userDetails = new User(username, "pass", List.of());
 
-        when(jwtUtil.extractUsername("wrong_user_token")).thenReturn(username);
+        Claims claims = Jwts.claims().setSubject(username);
+
+        when(jwtUtil.parse("wrong_user_token")).thenReturn(claims);
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
         // Валидация не прошла
-        when(jwtUtil.validateToken("wrong_user_token", userDetails)).thenReturn(false);
+        when(jwtUtil.validateToken(claims, userDetails)).thenReturn(false);
 
         filter.doFilterInternal(request, response, filterChain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(filterChain).doFilter(request, response);
     }
+
+    @Test
+    void testValidTokenParsedOnce() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer good_token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String username = "testuser";
+        UserDetails userDetails = new User(username, "pass", List.of());
+        Claims claims = Jwts.claims().setSubject(username);
+
+        when(jwtUtil.parse("good_token")).thenReturn(claims);
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        when(jwtUtil.validateToken(claims, userDetails)).thenReturn(true);
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(username);
+        // подпись проверяется одним разбором, утверждения переиспользуются при валидации
+        verify(jwtUtil, times(1)).parse("good_token");
+        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(jwtUtil, never()).validateToken(anyString(), any(UserDetails.class));
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void testPrincipalFromClaimsSkipsUserLookup() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer stateless_token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Claims claims = Jwts.claims().setSubject("testuser").setIssuedAt(new Date());
+        var principal = new UserPrincipal(42L, "testuser", "", 0, List.of());
+
+        when(jwtUtil.parse("stateless_token")).thenReturn(claims);
+        when(jwtUtil.toPrincipal(claims)).thenReturn(principal);
+        when(jwtUtil.validateToken(claims, principal)).thenReturn(true);
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(principal);
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void testRevokedTokenIsRejected() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer revoked_token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Claims claims = Jwts.claims().setSubject("testuser").setIssuedAt(new Date());
+        var principal = new UserPrincipal(42L, "testuser", "", 0, List.of());
+
+        when(jwtUtil.parse("revoked_token")).thenReturn(claims);
+        when(jwtUtil.toPrincipal(claims)).thenReturn(principal);
+        when(jwtUtil.validateToken(claims, principal)).thenReturn(true);
+        // пароль сменили после выдачи токена: версия токенов пользователя уже 1
+        when(tokenVersions.findById(42L))
+                .thenReturn(Optional.of(new UserDetailsCache.CachedUser(42L, "testuser", 1)));
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void testRevocationCheckCanBeDisabled() throws ServletException, IOException {
+        filter = new JwtRequestFilter(userDetailsService, jwtUtil, tokenVersions, false);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer old_token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Claims claims = Jwts.claims().setSubject("testuser").setIssuedAt(new Date());
+        var principal = new UserPrincipal(42L, "testuser", "", 0, List.of());
+
+        when(jwtUtil.parse("old_token")).thenReturn(claims);
+        when(jwtUtil.toPrincipal(claims)).thenReturn(principal);
+        when(jwtUtil.validateToken(claims, principal)).thenReturn(true);
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(principal);
+        verifyNoInteractions(tokenVersions);
+        verify(filterChain).doFilter(request, response);
+    }
 }
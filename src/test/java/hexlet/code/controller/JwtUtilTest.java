@@ -0,0 +1,46 @@
+package hexlet.code.controller;
+
+import hexlet.code.config.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import java.time.Duration;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public final class JwtUtilTest {
+
+    private static final String SECRET = "yourVeryLongAndRandomSecretKeyHere1234567890ABCDEF1234567890GHIJKLMNOP";
+
+    private final User user = new User("user@mail.com", "pass", List.of());
+
+    @Test
+    void testVerifiedTokenIsCached() {
+        var jwtUtil = new JwtUtil(SECRET, 60_000, 100, Duration.ofMinutes(5));
+        var token = jwtUtil.generateToken(user);
+
+        var claims = jwtUtil.parse(token);
+
+        assertThat(claims.getSubject()).isEqualTo("user@mail.com");
+        assertThat(jwtUtil.parse(token)).isSameAs(claims);
+        assertThat(jwtUtil.validateToken(claims, user)).isTrue();
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        var jwtUtil = new JwtUtil(SECRET, 60_000, 100, Duration.ofMinutes(5));
+        var token = jwtUtil.generateToken(user);
+        var tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.parse(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        var jwtUtil = new JwtUtil(SECRET, -1_000, 100, Duration.ofMinutes(5));
+        var token = jwtUtil.generateToken(user);
+
+        assertThatThrownBy(() -> jwtUtil.parse(token)).isInstanceOf(JwtException.class);
+    }
+}
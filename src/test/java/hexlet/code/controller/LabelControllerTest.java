@@ -2,6 +2,7 @@ package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import hexlet.code.BaseTest;
+import hexlet.code.component.TableVersions;
 import hexlet.code.dto.Label.LabelDTO;
 import hexlet.code.mapper.LabelMapper;
 import hexlet.code.model.Label;
@@ -14,10 +15,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.List;
 import java.util.Map;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -37,6 +41,9 @@ public class LabelControllerTest extends BaseTest {
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -179,4 +186,75 @@ public class LabelControllerTest extends BaseTest {
                 .header("Authorization", token))
                 .andExpect(status().isConflict());
     }
+
+    /**
+     * Тестирует постраничный вывод меток в стиле react-admin.
+     * Создаёт дополнительные метки и запрашивает диапазон {@code _start=1&_end=3}.
+     * Проверяет, что в теле ровно две метки, а X-Total-Count равен общему количеству меток.
+     */
+    @Test
+    public void testIndexWithRange() throws Exception {
+        for (var name : List.of("range-1", "range-2", "range-3")) {
+            var label = new Label();
+            label.setName(name);
+            labelRepository.save(label);
+        }
+
+        mockMvc.perform(get("/api/labels?_start=1&_end=3").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string("X-Total-Count", String.valueOf(labelRepository.count())));
+    }
+
+    @Test
+    public void testIndexConditionalGet() throws Exception {
+        var etag = mockMvc.perform(get("/api/labels").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/labels").header("Authorization", token).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        var label = new Label();
+        label.setName("feature");
+        labelRepository.save(label);
+
+        mockMvc.perform(get("/api/labels").header("Authorization", token).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    /**
+     * ETag списка строится по счётчику изменений таблицы в БД, поэтому другой экземпляр приложения выдаёт
+     * тот же тег. Транзакция увеличивает счётчик один раз, сколько бы строк она ни изменила.
+     */
+    @Test
+    public void testIndexETagFollowsTableVersion() throws Exception {
+        var etag = mockMvc.perform(get("/api/labels").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        assertThat(new TableVersions(jdbcTemplate).weakETag(Label.class)).isEqualTo(etag);
+
+        var before = labelsVersion();
+        var first = new Label();
+        first.setName("feature");
+        var second = new Label();
+        second.setName("improvement");
+        labelRepository.saveAll(List.of(first, second));
+        assertThat(labelsVersion()).isEqualTo(before + 1);
+
+        mockMvc.perform(get("/api/labels").header("Authorization", token).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", new TableVersions(jdbcTemplate).weakETag(Label.class)));
+    }
+
+    private long labelsVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM table_versions WHERE table_name = 'labels'",
+                Long.class);
+    }
 }
@@ -0,0 +1,116 @@
+package hexlet.code.controller;
+
+import hexlet.code.BaseTest;
+import hexlet.code.util.NamedRoutes;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Вход при перегруженном пуле хеширования паролей: пул из одного потока и очередь на один вызов
+ * заняты проверками, ожидающими сигнала теста, и запрос входа сразу получает 429 с {@code Retry-After}.
+ */
+@TestPropertySource(properties = {
+    "spring.security.password.hashing.threads=1",
+    "spring.security.password.hashing.queue-capacity=1"
+})
+public class LoginLoadSheddingTest extends BaseTest {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testLoginRejectedWhenHashingPoolSaturated() throws Exception {
+        var hash = passwordEncoder.encode("password");
+        var release = new CountDownLatch(1);
+        // BCrypt читает пароль уже в потоке пула, поэтому такой пароль держит поток до сигнала теста
+        CharSequence blocking = new BlockingPassword(release);
+
+        try (var callers = Executors.newFixedThreadPool(2)) {
+            var results = new ArrayList<Future<Boolean>>();
+            try {
+                for (int i = 0; i < 2; i++) {
+                    results.add(callers.submit(() -> passwordEncoder.matches(blocking, hash)));
+                }
+                awaitSaturation();
+
+                mockMvc.perform(post(NamedRoutes.API + NamedRoutes.LOGIN)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(om.writeValueAsString(
+                                        Map.of("username", "hexlet1@example.com", "password", "password"))))
+                        .andExpect(status().isTooManyRequests())
+                        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+            } finally {
+                release.countDown();
+            }
+            for (var result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+        }
+    }
+
+    private void awaitSaturation() throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (gauge("executor.active") < 1 || gauge("executor.queued") < 1) {
+            assertThat(System.nanoTime()).as("hashing pool saturated").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("name", "password-hashing").gauge().value();
+    }
+
+    private static final class BlockingPassword implements CharSequence {
+
+        private static final String VALUE = "password";
+
+        private final CountDownLatch release;
+
+        BlockingPassword(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public int length() {
+            return VALUE.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return VALUE.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return VALUE.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return VALUE;
+        }
+    }
+}
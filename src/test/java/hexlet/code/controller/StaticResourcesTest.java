@@ -0,0 +1,49 @@
+package hexlet.code.controller;
+
+import hexlet.code.BaseTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Интеграционные тесты раздачи встроенной SPA.
+ * Проверяют заголовки кэширования и выбор заранее сжатого варианта файла сборки по Accept-Encoding.
+ */
+public class StaticResourcesTest extends BaseTest {
+
+    private static final String BUNDLE = "/assets/index-c53d03a4.js";
+
+    @Test
+    public void testHashedAssetIsImmutable() throws Exception {
+        mockMvc.perform(get(BUNDLE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void testHashedAssetServedPrecompressed() throws Exception {
+        mockMvc.perform(get(BUNDLE).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    public void testHashedAssetServedBrotli() throws Exception {
+        mockMvc.perform(get(BUNDLE).header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"));
+    }
+
+    @Test
+    public void testIndexIsRevalidated() throws Exception {
+        mockMvc.perform(get("/index.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")));
+    }
+}
@@ -2,6 +2,7 @@ package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import hexlet.code.BaseTest;
+import hexlet.code.component.TaskCounters;
 import hexlet.code.dto.Task.TaskDTO;
 import hexlet.code.model.Task;
 import hexlet.code.model.User;
@@ -14,17 +15,27 @@ import hexlet.code.util.NamedRoutes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -51,6 +62,9 @@ public class TaskControllerTest extends BaseTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TaskCounters taskCounters;
+
 
     /**
      * Подготовка данных перед каждым тестовым методом.
@@ -150,6 +164,46 @@ public class TaskControllerTest extends BaseTest {
         assertThat(updatedTask.getDescription()).isEqualTo("Initial Description"); // Осталось прежним!
     }
 
+    /**
+     * Тестирует оптимистичную блокировку при обновлении задачи.
+     * Первое обновление с актуальным If-Match проходит и возвращает новый ETag,
+     * повторное обновление со старым ETag отклоняется со статусом 412 и не меняет задачу.
+     */
+    @Test
+    public void testUpdateTaskWithIfMatch() throws Exception {
+        var task = new Task();
+        task.setName("Initial Name");
+        task.setTaskStatus(testStatus);
+        taskRepository.save(task);
+
+        var etag = mockMvc.perform(get("/api/tasks/" + task.getId()).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var newEtag = mockMvc.perform(put("/api/tasks/" + task.getId())
+                        .header("Authorization", token)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("title", "First"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotNull().isNotEqualTo(etag);
+
+        mockMvc.perform(put("/api/tasks/" + task.getId())
+                        .header("Authorization", token)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("title", "Second"))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/tasks/" + task.getId())
+                        .header("Authorization", token)
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(taskRepository.findById(task.getId()).get().getName()).isEqualTo("First");
+    }
+
     /**
      * Тестирует фильтрацию задач.
      * Сначала создаёт задачу с определённым именем.
@@ -171,6 +225,44 @@ public class TaskControllerTest extends BaseTest {
                 .andExpect(jsonPath("$[0].title").value("SearchMe"));
     }
 
+    /**
+     * Тестирует выборку подмножества полей задачи параметром {@code fields}.
+     * В ответе остаются только запрошенные поля, в том числе при keyset-пагинации,
+     * а неизвестное поле отклоняется со статусом 400.
+     */
+    @Test
+    public void testIndexWithFields() throws Exception {
+        var task = new Task();
+        task.setName("Sparse");
+        task.setDescription("Long description");
+        task.setTaskStatus(testStatus);
+        task.getLabels().add(testLabel);
+        taskRepository.save(task);
+
+        mockMvc.perform(get("/api/tasks?fields=id,title,status,assignee_id")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(task.getId()))
+                .andExpect(jsonPath("$[0].title").value("Sparse"))
+                .andExpect(jsonPath("$[0].status").value("draft1"))
+                .andExpect(jsonPath("$[0].assignee_id").isEmpty())
+                .andExpect(jsonPath("$[0].content").doesNotExist())
+                .andExpect(jsonPath("$[0].taskLabelIds").doesNotExist())
+                .andExpect(jsonPath("$[0].createdAt").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks?limit=10&fields=title,taskLabelIds")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Sparse"))
+                .andExpect(jsonPath("$[0].taskLabelIds[0]").value(testLabel.getId()))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks?fields=title,password")
+                        .header("Authorization", token))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Тестирует защиту от неаутентифицированных запросов.
      * Отправляет POST-запрос для создания задачи без заголовка Authorization.
@@ -266,6 +358,30 @@ public class TaskControllerTest extends BaseTest {
                 .andExpect(jsonPath("$[0].title").value("Complex Search"));
     }
 
+    @Test
+    void testFilterByTitleFollowsRenameAndDelete() throws Exception {
+        var task = new Task();
+        task.setName("Old Title");
+        task.setTaskStatus(testStatus);
+        taskRepository.save(task);
+
+        task.setName("Brand New Title");
+        taskRepository.save(task);
+
+        mockMvc.perform(get("/api/tasks?titleCont=OLD").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/tasks?titleCont=nd NEW").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Brand New Title"));
+
+        taskRepository.delete(task);
+
+        mockMvc.perform(get("/api/tasks?titleCont=new title").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
     @Test
     void testFilterEmptyResult() throws Exception {
         mockMvc.perform(get("/api/tasks?titleCont=UnknownTaskName")
@@ -305,4 +421,548 @@ public class TaskControllerTest extends BaseTest {
                 .toList();
         assertThat(taskNames).contains(task.getName());
     }
+
+    /**
+     * Тестирует keyset-пагинацию списка задач.
+     * Создаёт три задачи и запрашивает их страницами по две.
+     * Проверяет, что первая страница содержит курсор X-Next-Cursor,
+     * а переход по нему возвращает оставшуюся задачу без курсора.
+     */
+    @Test
+    void testCursorPagination() throws Exception {
+        for (var name : List.of("Page Task 1", "Page Task 2", "Page Task 3")) {
+            var task = new Task();
+            task.setName(name);
+            task.setTaskStatus(testStatus);
+            taskRepository.save(task);
+        }
+
+        var firstPage = mockMvc.perform(get(NamedRoutes.TASKS + "?limit=2")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Page Task 1"))
+                .andExpect(jsonPath("$[1].title").value("Page Task 2"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn()
+                .getResponse();
+
+        var cursor = firstPage.getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get(NamedRoutes.TASKS + "?limit=2&after=" + cursor)
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Page Task 3"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void testCursorPaginationInvalidCursor() throws Exception {
+        mockMvc.perform(get(NamedRoutes.TASKS + "?after=not-a-cursor")
+                        .header("Authorization", token))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Тестирует постраничный вывод задач по номеру страницы.
+     * Создаёт три задачи и запрашивает вторую страницу размером два.
+     * Проверяет, что на странице одна задача, а X-Total-Count содержит общее количество задач.
+     */
+    @Test
+    void testPageAndSize() throws Exception {
+        for (var name : List.of("Offset Task 1", "Offset Task 2", "Offset Task 3")) {
+            var task = new Task();
+            task.setName(name);
+            task.setTaskStatus(testStatus);
+            taskRepository.save(task);
+        }
+
+        mockMvc.perform(get(NamedRoutes.TASKS + "?page=1&size=2")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Offset Task 3"))
+                .andExpect(header().string("X-Total-Count", "3"));
+    }
+
+    @Test
+    void testStreamTasks() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            var task = new Task();
+            task.setName("Streamed " + i);
+            task.setTaskStatus(testStatus);
+            task.getLabels().add(testLabel);
+            taskRepository.save(task);
+        }
+
+        var result = mockMvc.perform(get(NamedRoutes.TASKS + "?stream=true&titleCont=Streamed")
+                        .header("Authorization", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<TaskDTO> tasks = om.readValue(body, new TypeReference<>() { });
+        assertThat(tasks).extracting(TaskDTO::getTitle).containsExactly("Streamed 0", "Streamed 1", "Streamed 2");
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getLabelIds()).containsExactly(testLabel.getId()));
+    }
+
+    @Test
+    void testExportCsv() throws Exception {
+        var task = new Task();
+        task.setName("Export, \"quoted\"");
+        task.setTaskStatus(testStatus);
+        task.getLabels().add(testLabel);
+        taskRepository.save(task);
+
+        var result = mockMvc.perform(get(NamedRoutes.TASKS + NamedRoutes.TASKS_EXPORT + "?format=csv")
+                        .header("Authorization", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        var lines = body.split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,index,title,content,status,assignee_id,taskLabelIds,createdAt");
+        assertThat(lines[1]).startsWith(task.getId() + ",,\"Export, \"\"quoted\"\"\",," + testStatus.getSlug()
+                + ",," + testLabel.getId() + ",");
+    }
+
+    @Test
+    void testExportNdjsonGzip() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            var task = new Task();
+            task.setName("Exported " + i);
+            task.setTaskStatus(testStatus);
+            taskRepository.save(task);
+        }
+
+        var result = mockMvc.perform(get(NamedRoutes.TASKS + NamedRoutes.TASKS_EXPORT + "?titleCont=exported")
+                        .header("Authorization", token)
+                        .header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            var lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(om.readValue(lines[0], TaskDTO.class).getTitle()).isEqualTo("Exported 0");
+            assertThat(om.readValue(lines[1], TaskDTO.class).getTitle()).isEqualTo("Exported 1");
+        }
+    }
+
+    @Test
+    void testExportUnknownFormat() throws Exception {
+        mockMvc.perform(get(NamedRoutes.TASKS + NamedRoutes.TASKS_EXPORT + "?format=xml")
+                        .header("Authorization", token))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Выгрузка и потоковый список строят SQL отдельно от {@link hexlet.code.component.TaskSpecification},
+     * поэтому для каждого фильтра и их сочетаний сравнивается набор задач с обычным GET /api/tasks.
+     */
+    @Test
+    void testExportAndStreamMatchListFilters() throws Exception {
+        var assignee = userRepository.findByEmail("hexlet1@example.com").orElseThrow();
+        var review = new TaskStatus();
+        review.setName("Review1");
+        review.setSlug("review1");
+        taskStatusRepository.save(review);
+        var feature = new Label();
+        feature.setName("feature1");
+        labelRepository.save(feature);
+
+        saveTask("Fix login", testStatus, assignee, Set.of(testLabel, feature));
+        saveTask("Fix logout", review, null, Set.of(testLabel));
+        saveTask("Write docs", testStatus, null, Set.of(feature));
+        saveTask("Release", review, assignee, Set.of());
+
+        var labelIds = testLabel.getId() + "," + feature.getId();
+        var queries = List.of(
+                "",
+                "titleCont=FIX",
+                "titleCont=nothing",
+                "assigneeId=" + assignee.getId(),
+                "status=review1",
+                "labelId=" + testLabel.getId(),
+                "labelIds=" + labelIds,
+                "labelMatch=all&labelIds=" + labelIds,
+                "titleCont=fix&status=draft1",
+                "titleCont=log&assigneeId=" + assignee.getId(),
+                "assigneeId=" + assignee.getId() + "&labelIds=" + feature.getId(),
+                "status=review1&labelId=" + testLabel.getId() + "&labelMatch=all&labelIds=" + labelIds);
+
+        for (var query : queries) {
+            var listed = ids(mockMvc.perform(get(NamedRoutes.TASKS + "?" + query).header("Authorization", token))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString());
+            var streamed = ids(asyncBody(NamedRoutes.TASKS + "?stream=true&" + query));
+            var exported = ids("[" + String.join(",", asyncBody(NamedRoutes.TASKS + NamedRoutes.TASKS_EXPORT
+                    + "?" + query).lines().toList()) + "]");
+
+            assertThat(streamed).as("stream: %s", query).isEqualTo(listed);
+            assertThat(exported).as("export: %s", query).isEqualTo(listed);
+        }
+    }
+
+    @Test
+    void testCreateAll() throws Exception {
+        var user = userRepository.findByEmail("hexlet1@example.com").orElseThrow();
+        var items = List.of(
+                Map.of("title", "Bulk 1", "status", testStatus.getSlug(), "assignee_id", user.getId(),
+                        "taskLabelIds", List.of(testLabel.getId())),
+                Map.of("status", testStatus.getSlug()),
+                Map.of("title", "Bulk 3", "status", "missing_status", "taskLabelIds", List.of(-1L)),
+                Map.of("title", "Bulk 4", "status", testStatus.getSlug()));
+
+        mockMvc.perform(post(NamedRoutes.TASKS + NamedRoutes.TASKS_BULK)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].task.title").value("Bulk 1"))
+                .andExpect(jsonPath("$[0].task.assignee_id").value(user.getId()))
+                .andExpect(jsonPath("$[0].task.taskLabelIds[0]").value(testLabel.getId()))
+                .andExpect(jsonPath("$[1].task").isEmpty())
+                .andExpect(jsonPath("$[1].errors[0]").value(startsWith("title")))
+                .andExpect(jsonPath("$[2].errors.length()").value(2))
+                .andExpect(jsonPath("$[3].index").value(3))
+                .andExpect(jsonPath("$[3].task.id").isNumber());
+
+        var created = taskRepository.findByName("Bulk 1").orElseThrow();
+        assertThat(created.getAssignee().getId()).isEqualTo(user.getId());
+        assertThat(created.getLabels()).extracting(Label::getId).containsExactly(testLabel.getId());
+        assertThat(taskRepository.count()).isEqualTo(2);
+
+        mockMvc.perform(get("/api/tasks?titleCont=bulk").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void testUnpagedListFillsLabelsOfMoreThanOneChunk() throws Exception {
+        var items = new ArrayList<Map<String, Object>>();
+        for (int i = 0; i < 1001; i++) {
+            items.add(Map.of("title", "Many " + i, "status", testStatus.getSlug(),
+                    "taskLabelIds", List.of(testLabel.getId())));
+        }
+        mockMvc.perform(post(NamedRoutes.TASKS + NamedRoutes.TASKS_BULK)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(items)))
+                .andExpect(status().isOk());
+
+        var body = mockMvc.perform(get(NamedRoutes.TASKS).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<TaskDTO> tasks = om.readValue(body, new TypeReference<>() { });
+
+        assertThat(tasks).hasSize(1001);
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getLabelIds()).containsExactly(testLabel.getId()));
+    }
+
+    @Test
+    void testFilterByLabelIdsAnyAndAll() throws Exception {
+        var feature = new Label();
+        feature.setName("feature1");
+        labelRepository.save(feature);
+
+        var both = new Task();
+        both.setName("Both labels");
+        both.setTaskStatus(testStatus);
+        both.getLabels().add(testLabel);
+        both.getLabels().add(feature);
+        taskRepository.save(both);
+
+        var onlyBug = new Task();
+        onlyBug.setName("Only bug");
+        onlyBug.setTaskStatus(testStatus);
+        onlyBug.getLabels().add(testLabel);
+        taskRepository.save(onlyBug);
+
+        var unlabeled = new Task();
+        unlabeled.setName("No labels");
+        unlabeled.setTaskStatus(testStatus);
+        taskRepository.save(unlabeled);
+
+        var labelIds = testLabel.getId() + "," + feature.getId();
+
+        mockMvc.perform(get("/api/tasks?labelIds=" + labelIds).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(get("/api/tasks?labelMatch=all&labelIds=" + labelIds).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Both labels"))
+                .andExpect(jsonPath("$[0].taskLabelIds.length()").value(2));
+
+        mockMvc.perform(get("/api/tasks?labelMatch=all&labelIds=" + labelIds + "&page=0&size=10")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"));
+
+        mockMvc.perform(get("/api/tasks?labelMatch=some&labelIds=" + labelIds).header("Authorization", token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStats() throws Exception {
+        var assignee = userRepository.findByEmail("hexlet1@example.com").get();
+        var review = new TaskStatus();
+        review.setName("Review1");
+        review.setSlug("review1");
+        taskStatusRepository.save(review);
+
+        var first = new Task();
+        first.setName("Assigned draft");
+        first.setTaskStatus(testStatus);
+        first.setAssignee(assignee);
+        first.getLabels().add(testLabel);
+        taskRepository.save(first);
+
+        var second = new Task();
+        second.setName("Unassigned draft");
+        second.setTaskStatus(testStatus);
+        second.getLabels().add(testLabel);
+        taskRepository.save(second);
+
+        var third = new Task();
+        third.setName("Assigned review");
+        third.setTaskStatus(review);
+        third.setAssignee(assignee);
+        taskRepository.save(third);
+
+        mockMvc.perform(get(NamedRoutes.TASKS + NamedRoutes.TASKS_STATS).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.draft1").value(2))
+                .andExpect(jsonPath("$.byStatus.review1").value(1))
+                .andExpect(jsonPath("$.byAssignee." + assignee.getId()).value(2))
+                .andExpect(jsonPath("$.unassigned").value(1))
+                .andExpect(jsonPath("$.byLabel." + testLabel.getId()).value(2));
+
+        mockMvc.perform(get(NamedRoutes.TASKS + NamedRoutes.TASKS_STATS + "?status=draft1")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.byStatus.review1").doesNotExist())
+                .andExpect(jsonPath("$.byAssignee." + assignee.getId()).value(1))
+                .andExpect(jsonPath("$.unassigned").value(1));
+    }
+
+    @Test
+    void testCountsFollowCreateUpdateAndDelete() throws Exception {
+        taskCounters.reconcile();
+        var assigneeId = userRepository.findByEmail("hexlet1@example.com").get().getId();
+
+        var created = mockMvc.perform(post(NamedRoutes.TASKS)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("title", "Counted", "status", "draft1"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        var taskId = om.readValue(created.getResponse().getContentAsString(), TaskDTO.class).getId();
+
+        mockMvc.perform(get(NamedRoutes.TASKS + NamedRoutes.TASKS_COUNTS).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byStatus." + testStatus.getId()).value(1))
+                .andExpect(jsonPath("$.unassigned").value(1));
+
+        mockMvc.perform(put(NamedRoutes.taskPath(taskId))
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("assignee_id", assigneeId))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(NamedRoutes.TASKS + NamedRoutes.TASKS_COUNTS).header("Authorization", token))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byAssignee." + assigneeId).value(1))
+                .andExpect(jsonPath("$.unassigned").value(0));
+
+        mockMvc.perform(delete(NamedRoutes.taskPath(taskId)).header("Authorization", token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(NamedRoutes.TASKS + NamedRoutes.TASKS_COUNTS).header("Authorization", token))
+                .andExpect(jsonPath("$.total").value(0))
+                .andExpect(jsonPath("$.byStatus").isEmpty())
+                .andExpect(jsonPath("$.byAssignee").isEmpty());
+    }
+
+    @Test
+    void testCountsReconcileWithDatabase() throws Exception {
+        var task = new Task();
+        task.setName("Saved around the service");
+        task.setTaskStatus(testStatus);
+        taskRepository.save(task);
+
+        taskCounters.reconcile();
+
+        mockMvc.perform(get(NamedRoutes.TASKS + NamedRoutes.TASKS_COUNTS).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byStatus." + testStatus.getId()).value(1));
+    }
+
+    @Test
+    void testShowConditionalGet() throws Exception {
+        var task = new Task();
+        task.setName("Cached");
+        task.setTaskStatus(testStatus);
+        taskRepository.save(task);
+
+        var etag = mockMvc.perform(get(NamedRoutes.taskPath(task.getId())).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + task.getId() + "-")))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get(NamedRoutes.taskPath(task.getId()))
+                        .header("Authorization", token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        mockMvc.perform(put(NamedRoutes.taskPath(task.getId()))
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("taskLabelIds", Set.of(testLabel.getId())))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(NamedRoutes.taskPath(task.getId()))
+                        .header("Authorization", token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taskLabelIds[0]").value(testLabel.getId()));
+    }
+
+    @Test
+    void testShowConditionalGetFollowsStatusRename() throws Exception {
+        var task = new Task();
+        task.setName("Cached with status");
+        task.setTaskStatus(testStatus);
+        taskRepository.save(task);
+
+        var etag = mockMvc.perform(get(NamedRoutes.taskPath(task.getId())).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        testStatus.setSlug("renamed1");
+        taskStatusRepository.save(testStatus);
+
+        var newEtag = mockMvc.perform(get(NamedRoutes.taskPath(task.getId()))
+                        .header("Authorization", token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("renamed1"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(put(NamedRoutes.taskPath(task.getId()))
+                        .header("Authorization", token)
+                        .header(HttpHeaders.IF_MATCH, newEtag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("title", "Renamed status"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testIndexConditionalGetFollowsStatusChanges() throws Exception {
+        var task = new Task();
+        task.setName("Listed");
+        task.setTaskStatus(testStatus);
+        taskRepository.save(task);
+
+        var etag = mockMvc.perform(get(NamedRoutes.TASKS).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get(NamedRoutes.TASKS).header("Authorization", token).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        testStatus.setSlug("draft2");
+        taskStatusRepository.save(testStatus);
+
+        mockMvc.perform(get(NamedRoutes.TASKS).header("Authorization", token).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("draft2"));
+    }
+
+    @Test
+    void testIndexConditionalGetFollowsBulkCreate() throws Exception {
+        var etag = mockMvc.perform(get(NamedRoutes.TASKS).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(post(NamedRoutes.TASKS + NamedRoutes.TASKS_BULK)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(List.of(
+                                Map.of("title", "Bulk", "status", testStatus.getSlug())))))
+                .andExpect(status().isOk());
+
+        // пакетная вставка идёт через JDBC, но счётчик изменений таблицы задач всё равно увеличивается
+        mockMvc.perform(get(NamedRoutes.TASKS).header("Authorization", token).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Bulk"));
+    }
+
+    private void saveTask(String name, TaskStatus status, User assignee, Set<Label> labels) {
+        var task = new Task();
+        task.setName(name);
+        task.setTaskStatus(status);
+        task.setAssignee(assignee);
+        task.getLabels().addAll(labels);
+        taskRepository.save(task);
+    }
+
+    private String asyncBody(String url) throws Exception {
+        var result = mockMvc.perform(get(url).header("Authorization", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private Set<Long> ids(String json) throws Exception {
+        List<TaskDTO> tasks = om.readValue(json, new TypeReference<>() { });
+        return tasks.stream().map(TaskDTO::getId).collect(Collectors.toSet());
+    }
 }
@@ -0,0 +1,166 @@
+package hexlet.code.controller;
+
+import hexlet.code.BaseTest;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.util.NamedRoutes;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Регрессионные тесты на количество SQL-запросов в эндпоинтах задач.
+ * Количество подготовленных JDBC-выражений считается через статистику Hibernate
+ * и не должно зависеть от количества задач в ответе (защита от проблемы N+1).
+ * Текст выражений перехватывается {@link CapturedStatements}, чтобы проверить выбираемые столбцы и соединения.
+ */
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "hexlet.code.controller.TaskQueryCountTest$CapturedStatements"
+})
+public class TaskQueryCountTest extends BaseTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private int createdTasks;
+
+    @BeforeEach
+    public void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        createdTasks = 0;
+    }
+
+    @Test
+    public void testIndexQueryCountDoesNotDependOnTaskCount() throws Exception {
+        createTasks(3);
+        var smallListQueries = countQueries(NamedRoutes.TASKS);
+
+        createTasks(20);
+        var largeListQueries = countQueries(NamedRoutes.TASKS);
+
+        assertThat(largeListQueries).isEqualTo(smallListQueries);
+    }
+
+    @Test
+    public void testPagedIndexQueryCountDoesNotDependOnPageSize() throws Exception {
+        createTasks(25);
+
+        var smallPageQueries = countQueries(NamedRoutes.TASKS + "?page=0&size=3");
+        var largePageQueries = countQueries(NamedRoutes.TASKS + "?page=0&size=20");
+
+        assertThat(largePageQueries).isEqualTo(smallPageQueries);
+    }
+
+    @Test
+    public void testCursorIndexQueryCountDoesNotDependOnLimit() throws Exception {
+        createTasks(25);
+
+        var smallPageQueries = countQueries(NamedRoutes.TASKS + "?limit=3");
+        var largePageQueries = countQueries(NamedRoutes.TASKS + "?limit=20");
+
+        assertThat(largePageQueries).isEqualTo(smallPageQueries);
+    }
+
+    @Test
+    public void testShowLoadsTaskWithSingleQuery() throws Exception {
+        createTasks(1);
+        var task = taskRepository.findAll().get(0);
+
+        var showQueries = countQueries(NamedRoutes.taskPath(task.getId()));
+
+        // пользователь восстанавливается из JWT без запроса, задача загружается со всеми связями одним запросом
+        assertThat(showQueries).isEqualTo(1);
+    }
+
+    @Test
+    public void testSparseFieldsReadOnlyRequestedColumns() throws Exception {
+        createTasks(3);
+
+        CapturedStatements.clear();
+        mockMvc.perform(get(NamedRoutes.TASKS + "?fields=id,title,status,assignee_id&status=status_1")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        var statements = CapturedStatements.taskSelects();
+        assertThat(statements).isNotEmpty();
+        // описание не читается, ID исполнителя берётся из внешнего ключа, а фильтр и выборка slug
+        // используют одно соединение со статусами
+        assertThat(statements).noneMatch(sql -> sql.contains("description"));
+        assertThat(statements).noneMatch(sql -> sql.contains("join users"));
+        assertThat(statements).allMatch(sql -> sql.split("join task_statuses", -1).length <= 2);
+    }
+
+    private long countQueries(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url).header("Authorization", token)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            var number = createdTasks++;
+
+            var status = new TaskStatus();
+            status.setName("Status " + number);
+            status.setSlug("status_" + number);
+            taskStatusRepository.save(status);
+
+            var assignee = new User();
+            assignee.setEmail("assignee" + number + "@example.com");
+            assignee.setPassword("password");
+            userRepository.save(assignee);
+
+            var label = new Label();
+            label.setName("label " + number);
+            labelRepository.save(label);
+
+            var task = new Task();
+            task.setName("Task " + number);
+            task.setTaskStatus(status);
+            task.setAssignee(assignee);
+            task.getLabels().add(label);
+            taskRepository.save(task);
+        }
+    }
+
+    /**
+     * Перехватчик SQL Hibernate, запоминающий выражения текущего теста.
+     * Создаётся Hibernate по имени класса, поэтому выражения хранятся в статическом списке.
+     */
+    public static class CapturedStatements implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase());
+            return sql;
+        }
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static List<String> taskSelects() {
+            return STATEMENTS.stream().filter(sql -> sql.startsWith("select") && sql.contains(" from tasks ")).toList();
+        }
+    }
+}
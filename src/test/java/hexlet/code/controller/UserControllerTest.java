@@ -8,6 +8,8 @@ import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.util.ETags;
+import hexlet.code.util.NamedRoutes;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
@@ -21,6 +23,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
 /**
  * Интеграционные тесты для контроллера {@link hexlet.code.controller.UserController}.
@@ -108,6 +111,54 @@ public class UserControllerTest extends BaseTest {
         assertThat(updatedUser.getFirstName()).isEqualTo("UpdatedName");
     }
 
+    /**
+     * Тестирует отзыв токенов при смене пароля.
+     * После успешного PUT с новым паролем прежний токен больше не принимается.
+     */
+    @Test
+    public void testPasswordChangeRevokesToken() throws Exception {
+        var user = userRepository.findByEmail("hexlet1@example.com").get();
+        var data = Map.of("password", "newPassword123");
+
+        mockMvc.perform(put("/api/users/" + user.getId())
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(data)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users").header("Authorization", token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Токен, выданный сразу после смены пароля (в ту же секунду), принимается, а прежний — нет.
+     */
+    @Test
+    public void testLoginRightAfterPasswordChange() throws Exception {
+        var user = userRepository.findByEmail("hexlet1@example.com").get();
+
+        mockMvc.perform(put("/api/users/" + user.getId())
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("password", "newPassword123"))))
+                .andExpect(status().isOk());
+
+        var newToken = mockMvc.perform(post(NamedRoutes.API + NamedRoutes.LOGIN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(
+                                Map.of("username", "hexlet1@example.com", "password", "newPassword123"))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + newToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users").header("Authorization", token))
+                .andExpect(status().isUnauthorized());
+        assertThat(userRepository.findById(user.getId()).get().getTokenVersion()).isEqualTo(1L);
+    }
+
     /**
      * Тестирует защиту от неаутентифицированных запросов на удаление пользователя.
      * Сначала получает тестового пользователя из базы данных.
@@ -201,4 +252,24 @@ public class UserControllerTest extends BaseTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    public void testShowConditionalGet() throws Exception {
+        var user = userRepository.findByEmail("hexlet1@example.com").orElseThrow();
+
+        var etag = mockMvc.perform(get(NamedRoutes.userPath(user.getId())).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.of(user.getId(), user.getVersion())))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        var response = mockMvc.perform(get(NamedRoutes.userPath(user.getId()))
+                        .header("Authorization", token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andReturn()
+                .getResponse();
+        assertThat(response.getContentAsString()).isEmpty();
+    }
 }
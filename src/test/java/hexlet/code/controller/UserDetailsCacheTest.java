@@ -0,0 +1,201 @@
+package hexlet.code.controller;
+
+import hexlet.code.BaseTest;
+import hexlet.code.component.UserDetailsCache;
+import hexlet.code.component.UserDetailsCache.CachedUser;
+import hexlet.code.config.MyUserDetailsService;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.NamedRoutes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.ResultActions;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты кэша учётных данных пользователей: повторная загрузка берётся из кэша, пароль при входе читается из БД,
+ * сброс во время промаха не оставляет в кэше устаревшую запись или пометку неизвестного email,
+ * смена пароля через API действует сразу,
+ * а неизвестный email перестаёт считаться таким после создания пользователя.
+ */
+public class UserDetailsCacheTest extends BaseTest {
+
+    private static final String EMAIL = "hexlet1@example.com";
+
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testRepeatedLookupIsCached() {
+        var hitsBefore = hits();
+
+        var first = userDetailsCache.findByEmail(EMAIL);
+        var second = userDetailsCache.findByEmail(EMAIL);
+
+        assertThat(hits()).isEqualTo(hitsBefore + 1);
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    public void testLoginReadsPasswordFromDatabase() {
+        assertThat(userDetailsCache.findByEmail(EMAIL)).isPresent();
+        // пароль меняется в обход сервиса, как на другом экземпляре приложения: кэш не сбрасывается
+        var user = userRepository.findByEmail(EMAIL).get();
+        var hash = passwordEncoder.encode("changedElsewhere");
+        user.setPassword(hash);
+        userRepository.save(user);
+
+        var first = userDetailsService.loadUserByUsername(EMAIL);
+        var second = userDetailsService.loadUserByUsername(EMAIL);
+
+        assertThat(first.getPassword()).isEqualTo(hash);
+        // Spring Security стирает пароль в объекте после входа, поэтому объекты не должны разделяться
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    public void testEvictionDuringConcurrentMissIsNotLost() throws Exception {
+        var repository = mock(UserRepository.class);
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(repository.findById(1L))
+                .thenAnswer(invocation -> {
+                    // промах читает данные до фиксации изменения и записывает их в кэш уже после сброса
+                    loading.countDown();
+                    release.await();
+                    return Optional.of(user(0L));
+                })
+                .thenReturn(Optional.of(user(1L)));
+        var cache = cache(repository);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var stale = executor.submit(() -> cache.findById(1L));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            cache.evict(1L);
+            release.countDown();
+            assertThat(stale.get(5, TimeUnit.SECONDS)).map(CachedUser::tokenVersion).contains(0L);
+        }
+
+        assertThat(cache.findById(1L)).map(CachedUser::tokenVersion).contains(1L);
+    }
+
+    @Test
+    public void testUserCreatedDuringConcurrentMissIsNotRememberedUnknown() throws Exception {
+        var repository = mock(UserRepository.class);
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(repository.findByEmail(EMAIL))
+                .thenAnswer(invocation -> {
+                    // промах не находит пользователя до фиксации его создания, а помечает email уже после сброса
+                    loading.countDown();
+                    release.await();
+                    return Optional.empty();
+                })
+                .thenReturn(Optional.of(user(0L)));
+        var cache = cache(repository);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var stale = executor.submit(() -> cache.findByEmail(EMAIL));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            cache.evictUnknown(EMAIL);
+            release.countDown();
+            assertThat(stale.get(5, TimeUnit.SECONDS)).isEmpty();
+        }
+
+        assertThat(cache.findByEmail(EMAIL)).map(CachedUser::id).contains(1L);
+    }
+
+    @Test
+    public void testPasswordChangeTakesEffectImmediately() throws Exception {
+        var user = userRepository.findByEmail(EMAIL).get();
+        user.setPassword(passwordEncoder.encode("password"));
+        userRepository.save(user);
+
+        login("password").andExpect(status().isOk());
+
+        mockMvc.perform(put(NamedRoutes.userPath(user.getId()))
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("password", "newPassword123"))))
+                .andExpect(status().isOk());
+
+        login("password").andExpect(status().isUnauthorized());
+        login("newPassword123").andExpect(status().isOk());
+    }
+
+    @Test
+    public void testUnknownEmailIsRememberedUntilUserCreated() throws Exception {
+        var email = "newcomer@example.com";
+        var hitsBefore = hits("users-unknown-email");
+
+        assertThat(userDetailsCache.findByEmail(email)).isEmpty();
+        assertThat(userDetailsCache.findByEmail(email)).isEmpty();
+        assertThat(hits("users-unknown-email")).isEqualTo(hitsBefore + 1);
+
+        var data = Map.of("firstName", "New", "lastName", "Comer", "email", email, "password", "secret");
+        mockMvc.perform(post(NamedRoutes.USERS)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(data)))
+                .andExpect(status().isCreated());
+
+        assertThat(userDetailsCache.findByEmail(email)).isPresent();
+        login(email, "secret").andExpect(status().isOk());
+    }
+
+    private static UserDetailsCache cache(UserRepository repository) {
+        return new UserDetailsCache(repository, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(1), Duration.ofSeconds(30));
+    }
+
+    private static User user(long tokenVersion) {
+        var user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+
+    private ResultActions login(String password) throws Exception {
+        return login(EMAIL, password);
+    }
+
+    private ResultActions login(String email, String password) throws Exception {
+        return mockMvc.perform(post(NamedRoutes.API + NamedRoutes.LOGIN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(Map.of("username", email, "password", password))));
+    }
+
+    private double hits() {
+        return hits("users-by-email");
+    }
+
+    private double hits(String cache) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,119 @@
+package hexlet.code.controller;
+
+import hexlet.code.BaseTest;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.util.NamedRoutes;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверяет, что горячие пути API не закрепляют виртуальный поток за несущим
+ * (например, блоком {@code synchronized} вокруг обращения к БД).
+ * Запросы выполняются параллельно на виртуальных потоках под записью JFR,
+ * и ни одного события {@code jdk.VirtualThreadPinned} быть не должно.
+ * События внутри встроенной H2 не учитываются: это тестовая СУБД, в production используется
+ * драйвер PostgreSQL, который не держит монитор на время ввода-вывода.
+ */
+public class VirtualThreadPinningTest extends BaseTest {
+
+    private static final int REQUESTS = 200;
+
+    @Test
+    public void testHotPathsDoNotPinCarrierThreads() throws Exception {
+        var status = new TaskStatus();
+        status.setName("Pinning");
+        status.setSlug("pinning");
+        taskStatusRepository.save(status);
+
+        var label = new Label();
+        label.setName("pinning");
+        labelRepository.save(label);
+
+        var taskIds = new ArrayList<Long>();
+        for (int i = 0; i < 20; i++) {
+            var task = new Task();
+            task.setName("Task " + i);
+            task.setTaskStatus(status);
+            task.getLabels().add(label);
+            taskIds.add(taskRepository.save(task).getId());
+        }
+
+        // прогрев на платформенном потоке: инициализация классов тоже закрепляет поток
+        runRequests(taskIds, 0);
+
+        var pinned = new CopyOnWriteArrayList<RecordedEvent>();
+        try (var recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withoutThreshold().withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                var futures = new ArrayList<Future<?>>();
+                for (int i = 0; i < REQUESTS; i++) {
+                    var request = i;
+                    futures.add(executor.submit(() -> {
+                        runRequests(taskIds, request);
+                        return null;
+                    }));
+                }
+                for (var future : futures) {
+                    future.get();
+                }
+            }
+            recording.stop();
+        }
+
+        var outsideH2 = pinned.stream()
+                .filter(event -> !inH2(event))
+                .map(VirtualThreadPinningTest::describe)
+                .toList();
+        assertThat(outsideH2).isEmpty();
+    }
+
+    private void runRequests(List<Long> taskIds, int request) throws Exception {
+        var id = taskIds.get(request % taskIds.size());
+        mockMvc.perform(get(NamedRoutes.TASKS + "?limit=20").header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(NamedRoutes.taskPath(id)).header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(NamedRoutes.BOARD).header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(put(NamedRoutes.taskPath(id))
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("title", "Task " + id + " v" + request))))
+                // параллельные правки одной задачи могут законно упереться в оптимистичную блокировку
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isIn(200, 409));
+    }
+
+    private static boolean inH2(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().startsWith("org.h2."));
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "pinned for " + event.getDuration().toMillis() + " ms (no stack trace)";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(15)
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .reduce("pinned for " + event.getDuration().toMillis() + " ms:", (a, b) -> a + "\n  at " + b);
+    }
+}